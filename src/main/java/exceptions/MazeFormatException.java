@@ -0,0 +1,26 @@
+package exceptions;
+
+/**
+ * Exception thrown when maze data being read is not in the expected format.
+ */
+public class MazeFormatException extends MazeException {
+
+    /**
+     * Constructs a new MazeFormatException with the specified detail message.
+     *
+     * @param message the detail message explaining the format error
+     */
+    public MazeFormatException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new MazeFormatException with the specified detail message and cause.
+     *
+     * @param message the detail message explaining the format error
+     * @param cause   the cause of this exception
+     */
+    public MazeFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,81 @@
+package hw2;
+
+import java.util.Arrays;
+
+/**
+ * Path finder using breadth-first search, so every path it returns is a shortest path.
+ * Neighbors are explored in north, east, south, west order, which makes results deterministic.
+ */
+public class BreadthFirstPathFinder implements PathFinder {
+
+    @Override
+    public int[] findPath(Maze maze, int startRow, int startCol, int goalRow, int goalCol) {
+        // isOpen validates both cells before any search state is allocated
+        boolean startOpen = maze.isOpen(startRow, startCol);
+        boolean goalOpen = maze.isOpen(goalRow, goalCol);
+        if (!startOpen || !goalOpen) {
+            return null;
+        }
+        int width = maze.getWidth();
+        int height = maze.getHeight();
+        int start = startRow * width + startCol;
+        int goal = goalRow * width + goalCol;
+
+        int[] parent = new int[width * height];
+        Arrays.fill(parent, -1);
+        int[] queue = new int[width * height];
+        int headIndex = 0;
+        int tailIndex = 0;
+        queue[tailIndex++] = start;
+        parent[start] = start;
+
+        while (headIndex < tailIndex) {
+            int cur = queue[headIndex++];
+            if (cur == goal) {
+                return buildPath(parent, start, goal);
+            }
+            int row = cur / width;
+            int col = cur % width;
+            if (row > 0) {
+                tailIndex = visit(maze, parent, queue, tailIndex, cur, row - 1, col);
+            }
+            if (col < width - 1) {
+                tailIndex = visit(maze, parent, queue, tailIndex, cur, row, col + 1);
+            }
+            if (row < height - 1) {
+                tailIndex = visit(maze, parent, queue, tailIndex, cur, row + 1, col);
+            }
+            if (col > 0) {
+                tailIndex = visit(maze, parent, queue, tailIndex, cur, row, col - 1);
+            }
+        }
+        return null;
+    }
+
+    // Enqueue an unvisited open neighbor and return the new queue tail; isOpen takes the
+    // known row and column, which no backend has to recover from a linear index
+    private static int visit(Maze maze, int[] parent, int[] queue, int tailIndex, int from,
+            int row, int col) {
+        int index = row * maze.getWidth() + col;
+        if (parent[index] == -1 && maze.isOpen(row, col)) {
+            parent[index] = from;
+            queue[tailIndex++] = index;
+        }
+        return tailIndex;
+    }
+
+    // Walk parent links back from the goal and return the path in start-to-goal order
+    private static int[] buildPath(int[] parent, int start, int goal) {
+        int length = 1;
+        for (int cur = goal; cur != start; cur = parent[cur]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int cur = goal;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = cur;
+            cur = parent[cur];
+        }
+        return path;
+    }
+}
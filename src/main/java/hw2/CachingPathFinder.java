@@ -0,0 +1,260 @@
+package hw2;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import exceptions.CellIndexOutOfBoundsException;
+
+/**
+ * Path finder decorator that memoizes the results of another path finder.
+ * <p>
+ * Results are kept in a size-bounded LRU cache keyed on the maze, the start cell and the goal
+ * cell. Each entry records the {@link Maze#getVersion() version} of the maze it was computed
+ * against, so any mutation of the maze invalidates every entry for it. Paths are stored as
+ * moves packed four to a byte rather than as one int per cell.
+ * <p>
+ * The cache holds strong references to the mazes it has seen until their entries are evicted
+ * or {@link #clear()} is called. Instances are not thread-safe.
+ */
+public class CachingPathFinder implements PathFinder {
+    /** Capacity used by {@link #CachingPathFinder(PathFinder)}. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    // Two-bit move codes; vertical moves are tested first so width-1 mazes encode correctly
+    private static final int NORTH = 0;
+    private static final int EAST = 1;
+    private static final int SOUTH = 2;
+    private static final int WEST = 3;
+
+    private final PathFinder delegate;
+    private final int capacity;
+    private final Map<Key, Entry> cache;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long invalidationCount;
+
+    /**
+     * Constructs a CachingPathFinder holding at most the given number of results.
+     *
+     * @param delegate the path finder used on a cache miss
+     * @param capacity the maximum number of cached results
+     * @throws IllegalArgumentException if capacity is non-positive
+     */
+    public CachingPathFinder(PathFinder delegate, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        }
+        this.delegate = delegate;
+        this.capacity = capacity;
+        this.cache = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > CachingPathFinder.this.capacity) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Constructs a CachingPathFinder with the {@link #DEFAULT_CAPACITY default capacity}.
+     *
+     * @param delegate the path finder used on a cache miss
+     */
+    public CachingPathFinder(PathFinder delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public int[] findPath(Maze maze, int startRow, int startCol, int goalRow, int goalCol) {
+        int width = maze.getWidth();
+        checkBounds(maze, startRow, startCol);
+        checkBounds(maze, goalRow, goalCol);
+        int start = startRow * width + startCol;
+        Key key = new Key(maze, start, goalRow * width + goalCol);
+        long version = maze.getVersion();
+
+        Entry entry = cache.get(key);
+        if (entry != null) {
+            if (entry.version == version) {
+                hitCount++;
+                return decode(entry, start, width);
+            }
+            cache.remove(key);
+            invalidationCount++;
+        }
+        missCount++;
+        int[] path = delegate.findPath(maze, startRow, startCol, goalRow, goalCol);
+        cache.put(key, encode(path, version, width));
+        return path == null ? null : path.clone();
+    }
+
+    /**
+     * Remove every cached result. Counters are left untouched.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Get the number of results currently cached, including stale ones not yet looked up.
+     *
+     * @return the number of cached results
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Get the maximum number of results this cache holds.
+     *
+     * @return the cache capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Get the number of lookups that had to call the delegate, including stale entries.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Get the number of entries dropped because the cache was full.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Get the number of entries dropped because their maze had been modified.
+     *
+     * @return the invalidation count
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    // Pack the moves of a path four to a byte; a null path is cached as a negative length
+    private static Entry encode(int[] path, long version, int width) {
+        if (path == null) {
+            return new Entry(version, -1, null);
+        }
+        int moveCount = path.length - 1;
+        byte[] moves = new byte[(moveCount + 3) >>> 2];
+        for (int i = 0; i < moveCount; i++) {
+            int delta = path[i + 1] - path[i];
+            int move;
+            if (delta == -width) {
+                move = NORTH;
+            } else if (delta == width) {
+                move = SOUTH;
+            } else if (delta == 1) {
+                move = EAST;
+            } else if (delta == -1) {
+                move = WEST;
+            } else {
+                throw new IllegalStateException("Delegate returned non-adjacent cells "
+                        + path[i] + " and " + path[i + 1]);
+            }
+            moves[i >>> 2] |= (byte) (move << ((i & 3) << 1));
+        }
+        return new Entry(version, path.length, moves);
+    }
+
+    // Rebuild the linear indices of a cached path from its start cell
+    private static int[] decode(Entry entry, int start, int width) {
+        if (entry.length < 0) {
+            return null;
+        }
+        int[] path = new int[entry.length];
+        int cur = start;
+        path[0] = cur;
+        for (int i = 1; i < path.length; i++) {
+            int move = (entry.moves[(i - 1) >>> 2] >>> (((i - 1) & 3) << 1)) & 3;
+            switch (move) {
+                case NORTH:
+                    cur -= width;
+                    break;
+                case EAST:
+                    cur++;
+                    break;
+                case SOUTH:
+                    cur += width;
+                    break;
+                default:
+                    cur--;
+                    break;
+            }
+            path[i] = cur;
+        }
+        return path;
+    }
+
+    // Validate coordinates up front so cache hits fail the same way as delegated lookups
+    private static void checkBounds(Maze maze, int row, int col) {
+        int width = maze.getWidth();
+        int height = maze.getHeight();
+        if (row < 0 || row >= height || col < 0 || col >= width) {
+            throw new CellIndexOutOfBoundsException(row, col, width, height);
+        }
+    }
+
+    // Cache key comparing mazes by identity, since equal-looking mazes can diverge later
+    private static final class Key {
+        private final Maze maze;
+        private final int start;
+        private final int goal;
+
+        Key(Maze maze, int start, int goal) {
+            this.maze = maze;
+            this.start = start;
+            this.goal = goal;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return maze == key.maze && start == key.start && goal == key.goal;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(maze) * 31 + start) * 31 + goal;
+        }
+    }
+
+    // Cached result: the maze version it was computed against and the packed moves
+    private static final class Entry {
+        private final long version;
+        private final int length;
+        private final byte[] moves;
+
+        Entry(long version, int length, byte[] moves) {
+            this.version = version;
+            this.length = length;
+            this.moves = moves;
+        }
+    }
+}
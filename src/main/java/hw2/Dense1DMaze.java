@@ -14,6 +14,7 @@ public class Dense1DMaze implements Maze {
     private final int width;
     private final int height;
     private boolean defaultValue;
+    private long version;
 
     /**
      * Constructs a Dense1DMaze with specified dimensions and default cell value.
@@ -70,17 +71,56 @@ public class Dense1DMaze implements Maze {
     @Override
     public void setCell(int row, int col, boolean isOpen) {
         validateCoordinates(row, col);
-        cells[getLinearIndex(row, col)] = isOpen;
+        int index = getLinearIndex(row, col);
+        if (cells[index] != isOpen) {
+            cells[index] = isOpen;
+            version++;
+        }
+    }
+
+    @Override
+    public boolean isOpenUnchecked(int linearIndex) {
+        return cells[linearIndex];
+    }
+
+    @Override
+    public void setCellUnchecked(int linearIndex, boolean isOpen) {
+        if (cells[linearIndex] != isOpen) {
+            cells[linearIndex] = isOpen;
+            version++;
+        }
     }
 
     @Override
     public void clear(boolean defaultValue) {
         this.defaultValue = defaultValue;
+        version++;
         for (int i = 0; i < cells.length; i++) {
             cells[i] = defaultValue;
         }
     }
 
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public long[] exportRow(int row, int fromCol, int length, long[] dest) {
+        RowBits.checkRun(this, row, fromCol, length);
+        long[] words = RowBits.ensureCapacity(dest, length);
+        RowBits.pack(cells, getLinearIndex(row, fromCol), length, words);
+        return words;
+    }
+
+    @Override
+    public void importRow(int row, int fromCol, int length, long[] words) {
+        RowBits.checkRun(this, row, fromCol, length);
+        if (RowBits.unpack(words, length, cells, getLinearIndex(row, fromCol))) {
+            version++;
+        }
+    }
+
     @Override
     public Iterator<Boolean> iterator() {
         return new Dense1DMazeIterator();
@@ -107,7 +147,7 @@ public class Dense1DMaze implements Maze {
     // Validate that the provided coordinates are within maze bounds
     private void validateCoordinates(int row, int col) {
         if (row < 0 || row >= height || col < 0 || col >= width) {
-            throw new CellIndexOutOfBoundsException(row, col, height, width);
+            throw new CellIndexOutOfBoundsException(row, col, width, height);
         }
     }
 
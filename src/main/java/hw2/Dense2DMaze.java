@@ -14,6 +14,7 @@ public class Dense2DMaze implements Maze {
     private final int width;
     private final int height;
     private boolean defaultValue;
+    private long version;
 
     /**
      * Constructs a Dense2DMaze with specified dimensions and default cell value.
@@ -70,12 +71,31 @@ public class Dense2DMaze implements Maze {
     @Override
     public void setCell(int row, int col, boolean isOpen) {
         validateCoordinates(row, col);
-        cells[row][col] = isOpen;
+        if (cells[row][col] != isOpen) {
+            cells[row][col] = isOpen;
+            version++;
+        }
+    }
+
+    @Override
+    public boolean isOpenUnchecked(int linearIndex) {
+        return cells[linearIndex / width][linearIndex % width];
+    }
+
+    @Override
+    public void setCellUnchecked(int linearIndex, boolean isOpen) {
+        boolean[] row = cells[linearIndex / width];
+        int col = linearIndex % width;
+        if (row[col] != isOpen) {
+            row[col] = isOpen;
+            version++;
+        }
     }
 
     @Override
     public void clear(boolean defaultValue) {
         this.defaultValue = defaultValue;
+        version++;
         for (int row = 0; row < height; row++) {
             for (int col = 0; col < width; col++) {
                 cells[row][col] = defaultValue;
@@ -83,6 +103,27 @@ public class Dense2DMaze implements Maze {
         }
     }
 
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public long[] exportRow(int row, int fromCol, int length, long[] dest) {
+        RowBits.checkRun(this, row, fromCol, length);
+        long[] words = RowBits.ensureCapacity(dest, length);
+        RowBits.pack(cells[row], fromCol, length, words);
+        return words;
+    }
+
+    @Override
+    public void importRow(int row, int fromCol, int length, long[] words) {
+        RowBits.checkRun(this, row, fromCol, length);
+        if (RowBits.unpack(words, length, cells[row], fromCol)) {
+            version++;
+        }
+    }
+
     @Override
     public Iterator<Boolean> iterator() {
         return new Dense2DMazeIterator();
@@ -115,7 +156,7 @@ public class Dense2DMaze implements Maze {
     // Validate that the provided coordinates are within maze bounds
     private void validateCoordinates(int row, int col) {
         if (row < 0 || row >= height || col < 0 || col >= width) {
-            throw new CellIndexOutOfBoundsException(row, col, height, width);
+            throw new CellIndexOutOfBoundsException(row, col, width, height);
         }
     }
 }
@@ -0,0 +1,309 @@
+package hw2;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import exceptions.CellIndexOutOfBoundsException;
+import exceptions.DimensionException;
+
+/**
+ * Sparse maze implementation using a primitive open-addressing hash set of linear indices.
+ * <p>
+ * Like {@link SparseMaze}, only cells that differ from the default value are stored, but
+ * their row-major linear indices live directly in an {@code int[]} table probed linearly,
+ * so lookups and updates take expected constant time without a node object per cell. The
+ * table doubles when it becomes more than half full and halves when deletions leave it less
+ * than an eighth full, so beyond its minimum capacity each stored cell costs 8 to 32 bytes,
+ * and 8 to 16 bytes while cells are only being added. Row-major iteration sorts the stored
+ * indices once and reuses the sorted copy until the maze is next modified.
+ */
+public class HashSparseMaze implements Maze {
+    private static final int EMPTY = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] table;
+    private int mask;
+    private int storedCellCount;
+    private int[] sortedIndices; // cached row-major order of stored cells, null when stale
+    private final int width;
+    private final int height;
+    private boolean defaultValue;
+    private long version;
+
+    /**
+     * Constructs a HashSparseMaze with specified dimensions and default cell value.
+     *
+     * @param width        the width of the maze
+     * @param height       the height of the maze
+     * @param defaultValue the default value for cells in the maze
+     *                     true for open, false for blocked
+     * @throws DimensionException if width or height are non-positive
+     */
+    public HashSparseMaze(int width, int height, boolean defaultValue) {
+        if (width <= 0 || height <= 0) {
+            throw new DimensionException(width, height);
+        }
+        this.width = width;
+        this.height = height;
+        this.defaultValue = defaultValue;
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructs a HashSparseMaze with specified dimensions and default cell value of true (open).
+     *
+     * @param width  the width of the maze
+     * @param height the height of the maze
+     * @throws DimensionException if width or height are non-positive
+     */
+    public HashSparseMaze(int width, int height) {
+        this(width, height, true);
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean getDefaultValue() {
+        return defaultValue;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the number of cells currently stored because they differ from the default value.
+     *
+     * @return the stored cell count
+     */
+    public int getStoredCellCount() {
+        return storedCellCount;
+    }
+
+    // Number of slots in the hash table
+    int getCapacity() {
+        return table.length;
+    }
+
+    @Override
+    public boolean isOpen(int row, int col) {
+        checkBounds(row, col);
+        return isOpenUnchecked(row * width + col);
+    }
+
+    @Override
+    public boolean isOpenUnchecked(int linearIndex) {
+        return table[slotOf(linearIndex)] == EMPTY ? defaultValue : !defaultValue;
+    }
+
+    @Override
+    public void setCell(int row, int col, boolean isOpen) {
+        checkBounds(row, col);
+        setCellUnchecked(row * width + col, isOpen);
+    }
+
+    @Override
+    public void setCellUnchecked(int linearIndex, boolean isOpen) {
+        if (store(linearIndex, isOpen != defaultValue)) {
+            modified();
+        }
+    }
+
+    @Override
+    public void importRow(int row, int fromCol, int length, long[] words) {
+        RowBits.checkRun(this, row, fromCol, length);
+        int start = row * width + fromCol;
+        boolean changed = false;
+        for (int i = 0; i < length; i++) {
+            changed |= store(start + i, RowBits.get(words, i) != defaultValue);
+        }
+        if (changed) {
+            modified();
+        }
+    }
+
+    @Override
+    public void clear(boolean newDefaultValue) {
+        this.defaultValue = newDefaultValue;
+        storedCellCount = 0;
+        allocate(MIN_CAPACITY);
+        modified();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Short runs probe the table once per cell; longer runs binary-search the sorted copy of
+     * the stored indices, sorting first if the maze changed since the last sort.
+     */
+    @Override
+    public long[] exportRow(int row, int fromCol, int length, long[] dest) {
+        RowBits.checkRun(this, row, fromCol, length);
+        long[] words = RowBits.ensureCapacity(dest, length);
+        RowBits.fill(words, length, defaultValue);
+        if (storedCellCount == 0) {
+            return words;
+        }
+        int start = row * width + fromCol;
+        if (sortedIndices == null && length < storedCellCount) {
+            for (int i = 0; i < length; i++) {
+                if (table[slotOf(start + i)] != EMPTY) {
+                    RowBits.setRange(words, i, i + 1, !defaultValue);
+                }
+            }
+            return words;
+        }
+        int[] sorted = sortedIndices();
+        int position = Arrays.binarySearch(sorted, start);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        while (position < sorted.length && sorted[position] < start + length) {
+            int bit = sorted[position] - start;
+            RowBits.setRange(words, bit, bit + 1, !defaultValue);
+            position++;
+        }
+        return words;
+    }
+
+    @Override
+    public Iterator<Boolean> iterator() {
+        return new HashSparseMazeIterator(sortedIndices());
+    }
+
+    private class HashSparseMazeIterator implements Iterator<Boolean> {
+        private final int[] stored;
+        private int storedPosition;
+        private int index;
+
+        HashSparseMazeIterator(int[] stored) {
+            this.stored = stored;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < width * height;
+        }
+
+        @Override
+        public Boolean next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (storedPosition < stored.length && stored[storedPosition] == index) {
+                storedPosition++;
+                index++;
+                return !defaultValue;
+            }
+            index++;
+            return defaultValue;
+        }
+    }
+
+    // Stored indices in ascending order, sorting only when the maze changed since last time
+    private int[] sortedIndices() {
+        if (sortedIndices == null) {
+            int[] sorted = new int[storedCellCount];
+            int count = 0;
+            for (int key : table) {
+                if (key != EMPTY) {
+                    sorted[count++] = key;
+                }
+            }
+            Arrays.sort(sorted);
+            sortedIndices = sorted;
+        }
+        return sortedIndices;
+    }
+
+    // Add or remove a cell from the table and report whether it changed
+    private boolean store(int index, boolean nonDefault) {
+        int slot = slotOf(index);
+        boolean stored = table[slot] != EMPTY;
+        if (nonDefault == stored) {
+            return false;
+        }
+        if (stored) {
+            removeSlot(slot);
+            storedCellCount--;
+            if (table.length > MIN_CAPACITY && storedCellCount * 8 < table.length) {
+                allocate(table.length / 2);
+            }
+        } else {
+            table[slot] = index;
+            storedCellCount++;
+            if (storedCellCount * 2 > table.length) {
+                allocate(table.length * 2);
+            }
+        }
+        return true;
+    }
+
+    // Find the slot holding index, or the empty slot where it would be inserted
+    private int slotOf(int index) {
+        int slot = hash(index) & mask;
+        while (table[slot] != EMPTY && table[slot] != index) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Delete by shifting later entries of the probe run back, so no tombstones are needed
+    private void removeSlot(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (table[next] != EMPTY) {
+            int home = hash(table[next]) & mask;
+            // Move the entry only if its home slot is not cyclically within (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table[hole] = table[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[hole] = EMPTY;
+    }
+
+    // Replace the table with an empty one of the given capacity and re-insert stored cells
+    private void allocate(int capacity) {
+        int[] old = table;
+        table = new int[capacity];
+        mask = capacity - 1;
+        Arrays.fill(table, EMPTY);
+        if (old != null && storedCellCount > 0) {
+            for (int key : old) {
+                if (key != EMPTY) {
+                    table[slotOf(key)] = key;
+                }
+            }
+        }
+    }
+
+    private void modified() {
+        sortedIndices = null;
+        version++;
+    }
+
+    // Fibonacci hashing spreads row-major neighbors across the table
+    private static int hash(int index) {
+        int h = index * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Validate that the provided coordinates are within maze bounds
+    private void checkBounds(int row, int col) {
+        if (row < 0 || row >= height || col < 0 || col >= width) {
+            throw new CellIndexOutOfBoundsException(row, col, width, height);
+        }
+    }
+}
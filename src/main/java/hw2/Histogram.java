@@ -0,0 +1,151 @@
+package hw2;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size histogram of non-negative long values with bounded relative error.
+ * <p>
+ * Values below 32 are counted exactly. Larger values share buckets that split each power of
+ * two into 16 equal parts, so a reported value is within about 6% of the recorded one while
+ * the whole histogram occupies under 8 KB regardless of range. Recording never allocates.
+ * Instances are not thread-safe.
+ */
+public class Histogram {
+    private static final int EXACT_LIMIT = 32;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = EXACT_LIMIT + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Record one occurrence of a value. Negative values are recorded as zero.
+     *
+     * @param value the value to record
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[bucketIndex(value)]++;
+        totalCount++;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Get the number of recorded values.
+     *
+     * @return the total count
+     */
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * Get the smallest recorded value.
+     *
+     * @return the minimum, or 0 if nothing has been recorded
+     */
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    /**
+     * Get the largest recorded value.
+     *
+     * @return the maximum, or 0 if nothing has been recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Get the exact mean of the recorded values.
+     *
+     * @return the mean, or 0 if nothing has been recorded
+     */
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Get the value at the given percentile, reported as the upper bound of its bucket.
+     *
+     * @param percentile the percentile in the range 0 to 100
+     * @return the value at the percentile, or 0 if nothing has been recorded
+     * @throws IllegalArgumentException if percentile is outside 0 to 100
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in 0-100: " + percentile);
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(Math.max(upperBound(i), min), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Add every value recorded in another histogram to this one.
+     *
+     * @param other the histogram to merge in
+     */
+    public void add(Histogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Discard every recorded value.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    // Map a value to its bucket: exact below EXACT_LIMIT, then 16 buckets per power of two
+    private static int bucketIndex(long value) {
+        if (value < EXACT_LIMIT) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS + 1);
+        int top = (int) (value >>> shift);
+        return EXACT_LIMIT + (shift - 1) * SUB_BUCKETS + (top - SUB_BUCKETS);
+    }
+
+    // Largest value that maps to the given bucket
+    private static long upperBound(int index) {
+        if (index < EXACT_LIMIT) {
+            return index;
+        }
+        int shift = (index - EXACT_LIMIT) / SUB_BUCKETS + 1;
+        long top = (index - EXACT_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,300 @@
+package hw2;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maze decorator that records operation latencies and backend statistics.
+ * <p>
+ * Instrumentation is opt-in: mazes that are not wrapped pay nothing beyond a null check in
+ * the node walks of {@link SparseMaze}. A wrapped maze can also be switched off with
+ * {@link #setEnabled(boolean)}, after which calls are forwarded without timing. While
+ * enabled, every isOpen, setCell, clear, exportRow and importRow call is timed with
+ * {@link System#nanoTime()}, node-walking backends report how many nodes each call visited,
+ * and iterators report their throughput once they are exhausted.
+ * <p>
+ * The delegate should only be modified through this wrapper while it is attached. A
+ * {@link SparseMaze} delegate holds a reference to the metrics while the wrapper is enabled;
+ * {@link #close()} releases it. If several wrappers share one delegate, node walks are
+ * reported to the most recently enabled one.
+ */
+public class InstrumentedMaze implements Maze, AutoCloseable {
+    private final Maze delegate;
+    private final MazeMetrics metrics;
+    private boolean enabled;
+
+    /**
+     * Constructs an enabled InstrumentedMaze recording into new metrics.
+     *
+     * @param delegate the maze to instrument
+     */
+    public InstrumentedMaze(Maze delegate) {
+        this(delegate, new MazeMetrics());
+    }
+
+    /**
+     * Constructs an enabled InstrumentedMaze recording into the given metrics.
+     *
+     * @param delegate the maze to instrument
+     * @param metrics  the metrics to record into
+     */
+    public InstrumentedMaze(Maze delegate, MazeMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        setEnabled(true);
+    }
+
+    /**
+     * Get the wrapped maze.
+     *
+     * @return the delegate maze
+     */
+    public Maze getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Get the metrics this maze records into.
+     *
+     * @return the metrics
+     */
+    public MazeMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Check whether calls are currently being recorded.
+     *
+     * @return true if instrumentation is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn recording on or off. Recorded values are kept while disabled.
+     *
+     * @param enabled true to record calls, false to forward them untouched
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (delegate instanceof SparseMaze) {
+            if (enabled) {
+                ((SparseMaze) delegate).setMetrics(metrics);
+            } else {
+                ((SparseMaze) delegate).detachMetrics(metrics);
+            }
+        }
+    }
+
+    /**
+     * Disable recording and detach this wrapper's metrics from the delegate, unless another
+     * wrapper has attached its own since. The delegate can then be used on its own.
+     */
+    @Override
+    public void close() {
+        setEnabled(false);
+    }
+
+    /**
+     * Get the number of entries the delegate stores: one per cell for dense backends, one per
+     * non-default cell for sparse backends and one per node for {@link QuadTreeMaze}.
+     *
+     * @return the stored entry count, or -1 if the delegate's storage is not known
+     */
+    public long getStoredCellCount() {
+        if (delegate instanceof SparseMaze) {
+            return ((SparseMaze) delegate).getStoredCellCount();
+        }
+        if (delegate instanceof HashSparseMaze) {
+            return ((HashSparseMaze) delegate).getStoredCellCount();
+        }
+        if (delegate instanceof QuadTreeMaze) {
+            return ((QuadTreeMaze) delegate).getNodeCount();
+        }
+        if (delegate instanceof Dense1DMaze || delegate instanceof Dense2DMaze) {
+            return (long) delegate.getWidth() * delegate.getHeight();
+        }
+        return -1;
+    }
+
+    /**
+     * Export the recorded metrics together with the current stored entry count, which is
+     * left out when it is not known.
+     *
+     * @return the metrics snapshot
+     * @see MazeMetrics#snapshot()
+     * @see #getStoredCellCount()
+     */
+    public Map<String, Number> snapshot() {
+        Map<String, Number> snapshot = new LinkedHashMap<>(metrics.snapshot());
+        long stored = getStoredCellCount();
+        if (stored >= 0) {
+            snapshot.put("storedCells", stored);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public int getWidth() {
+        return delegate.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return delegate.getHeight();
+    }
+
+    @Override
+    public boolean getDefaultValue() {
+        return delegate.getDefaultValue();
+    }
+
+    @Override
+    public long getVersion() {
+        return delegate.getVersion();
+    }
+
+    @Override
+    public boolean isOpen(int row, int col) {
+        if (!enabled) {
+            return delegate.isOpen(row, col);
+        }
+        long start = System.nanoTime();
+        try {
+            return delegate.isOpen(row, col);
+        } finally {
+            metrics.recordIsOpen(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void setCell(int row, int col, boolean isOpen) {
+        if (!enabled) {
+            delegate.setCell(row, col, isOpen);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            delegate.setCell(row, col, isOpen);
+        } finally {
+            metrics.recordSetCell(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * While enabled, unchecked reads are timed into the isOpen histogram.
+     */
+    @Override
+    public boolean isOpenUnchecked(int linearIndex) {
+        if (!enabled) {
+            return delegate.isOpenUnchecked(linearIndex);
+        }
+        long start = System.nanoTime();
+        try {
+            return delegate.isOpenUnchecked(linearIndex);
+        } finally {
+            metrics.recordIsOpen(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * While enabled, unchecked writes are timed into the setCell histogram.
+     */
+    @Override
+    public void setCellUnchecked(int linearIndex, boolean isOpen) {
+        if (!enabled) {
+            delegate.setCellUnchecked(linearIndex, isOpen);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            delegate.setCellUnchecked(linearIndex, isOpen);
+        } finally {
+            metrics.recordSetCell(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void clear(boolean defaultValue) {
+        if (!enabled) {
+            delegate.clear(defaultValue);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            delegate.clear(defaultValue);
+        } finally {
+            metrics.recordClear(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long[] exportRow(int row, int fromCol, int length, long[] dest) {
+        if (!enabled) {
+            return delegate.exportRow(row, fromCol, length, dest);
+        }
+        long start = System.nanoTime();
+        try {
+            return delegate.exportRow(row, fromCol, length, dest);
+        } finally {
+            metrics.recordExportRow(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void importRow(int row, int fromCol, int length, long[] words) {
+        if (!enabled) {
+            delegate.importRow(row, fromCol, length, words);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            delegate.importRow(row, fromCol, length, words);
+        } finally {
+            metrics.recordImportRow(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Iterator<Boolean> iterator() {
+        if (!enabled) {
+            return delegate.iterator();
+        }
+        return new InstrumentedIterator(delegate.iterator());
+    }
+
+    // Iterator counting cells and reporting elapsed time once the delegate is exhausted
+    private class InstrumentedIterator implements Iterator<Boolean> {
+        private final Iterator<Boolean> iterator;
+        private final long startNanos = System.nanoTime();
+        private long cells;
+        private boolean reported;
+
+        InstrumentedIterator(Iterator<Boolean> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            boolean hasNext = iterator.hasNext();
+            if (!hasNext && !reported) {
+                reported = true;
+                metrics.recordIteration(cells, System.nanoTime() - startNanos);
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Boolean next() {
+            Boolean value = iterator.next();
+            cells++;
+            return value;
+        }
+    }
+}
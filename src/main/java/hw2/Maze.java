@@ -1,6 +1,7 @@
 package hw2;
 
 import exceptions.CellIndexOutOfBoundsException;
+import exceptions.DimensionException;
 
 /**
  * Core interface for maze representations.
@@ -44,6 +45,39 @@ public interface Maze extends Iterable<Boolean> {
      */
     void setCell(int row, int col, boolean isOpen);
 
+    /**
+     * Check if a cell is open without validating its index.
+     * <p>
+     * This skips the coordinate checks of {@link #isOpen(int, int)} and takes the row-major
+     * linear index ({@code row * width + col}) directly. Only backends that store cells by
+     * linear index, such as {@link Dense1DMaze}, {@link HashSparseMaze} and
+     * {@link SparseMaze}, read faster this way. {@link Dense2DMaze} has to split the index
+     * back into row and column and is slower than {@link #isOpen(int, int)},
+     * {@link QuadTreeMaze} gains little, and a view is as fast as its parent's unchecked
+     * read. Loops over whole rows should use {@link #exportRow(int, int, int, long[])}.
+     * The caller must ensure {@code 0 <= linearIndex < width * height}; for any other index
+     * the result is unspecified and may be a wrong value or any runtime exception.
+     *
+     * @param linearIndex the row-major linear index of the cell
+     * @return true if the cell is open, false if blocked
+     */
+    default boolean isOpenUnchecked(int linearIndex) {
+        int width = getWidth();
+        return isOpen(linearIndex / width, linearIndex % width);
+    }
+
+    /**
+     * Set the state of a cell without validating its index.
+     * The same contract as {@link #isOpenUnchecked(int)} applies.
+     *
+     * @param linearIndex the row-major linear index of the cell
+     * @param isOpen      true to make the cell open, false to block it
+     */
+    default void setCellUnchecked(int linearIndex, boolean isOpen) {
+        int width = getWidth();
+        setCell(linearIndex / width, linearIndex % width, isOpen);
+    }
+
     /**
      * Clear the entire maze to a default value.
      *
@@ -58,4 +92,80 @@ public interface Maze extends Iterable<Boolean> {
      * @return the default cell value
      */
     boolean getDefaultValue();
+
+    /**
+     * Get the modification version of this maze.
+     * The version changes whenever a cell value changes or the maze is cleared, so callers
+     * holding data derived from the maze (such as cached paths) can tell when it is stale.
+     *
+     * @return the current modification version
+     */
+    long getVersion();
+
+    /**
+     * Copy a run of cells from one row into a packed bit array.
+     * Bit {@code i % 64} of {@code dest[i / 64]} is set when cell {@code (row, fromCol + i)}
+     * is open, and unused bits of the last word are cleared.
+     * <p>
+     * The default implementation calls {@link #isOpen(int, int)} once per cell. Backends
+     * override it to copy whole runs straight from their storage.
+     *
+     * @param row     the row to export (0-indexed)
+     * @param fromCol the first column to export (0-indexed)
+     * @param length  the number of cells to export
+     * @param dest    the array to fill, or null; a new array is allocated if it is too short
+     * @return the filled array, which is dest if it was large enough
+     * @throws CellIndexOutOfBoundsException if the run extends outside the maze
+     */
+    default long[] exportRow(int row, int fromCol, int length, long[] dest) {
+        RowBits.checkRun(this, row, fromCol, length);
+        long[] words = RowBits.ensureCapacity(dest, length);
+        RowBits.fill(words, length, false);
+        for (int i = 0; i < length; i++) {
+            if (isOpen(row, fromCol + i)) {
+                words[i >>> 6] |= 1L << i;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Overwrite a run of cells in one row from a packed bit array.
+     * Cell {@code (row, fromCol + i)} becomes open when bit {@code i % 64} of
+     * {@code words[i / 64]} is set, the layout produced by
+     * {@link #exportRow(int, int, int, long[])}.
+     * <p>
+     * The default implementation calls {@link #setCell(int, int, boolean)} once per cell.
+     * Backends override it to write whole runs straight into their storage.
+     *
+     * @param row     the row to import into (0-indexed)
+     * @param fromCol the first column to import into (0-indexed)
+     * @param length  the number of cells to import
+     * @param words   the packed cell values
+     * @throws CellIndexOutOfBoundsException if the run extends outside the maze
+     */
+    default void importRow(int row, int fromCol, int length, long[] words) {
+        RowBits.checkRun(this, row, fromCol, length);
+        for (int i = 0; i < length; i++) {
+            setCell(row, fromCol + i, RowBits.get(words, i));
+        }
+    }
+
+    /**
+     * Get a live view of a rectangular window of this maze.
+     * The view copies nothing: reads and writes through it go to this maze, translated by the
+     * given offsets, and changes to this maze are immediately visible through it.
+     *
+     * @param rowOffset the row of this maze shown as row 0 of the view
+     * @param colOffset the column of this maze shown as column 0 of the view
+     * @param height    the number of rows in the view
+     * @param width     the number of columns in the view
+     * @return the view
+     * @throws DimensionException            if width or height are non-positive
+     * @throws CellIndexOutOfBoundsException if the window extends outside this maze
+     * @see MazeView
+     */
+    default Maze view(int rowOffset, int colOffset, int height, int width) {
+        return new MazeView(this, rowOffset, colOffset, height, width);
+    }
 }
@@ -0,0 +1,22 @@
+package hw2;
+
+import exceptions.DimensionException;
+
+/**
+ * Creates empty mazes of a chosen implementation, typically a constructor reference such as
+ * {@code SparseMaze::new}.
+ */
+@FunctionalInterface
+public interface MazeFactory {
+
+    /**
+     * Create a maze with every cell set to the default value.
+     *
+     * @param width        the width of the maze
+     * @param height       the height of the maze
+     * @param defaultValue the default value for cells in the maze
+     * @return the new maze
+     * @throws DimensionException if width or height are non-positive
+     */
+    Maze create(int width, int height, boolean defaultValue);
+}
@@ -0,0 +1,328 @@
+package hw2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import exceptions.MazeFormatException;
+
+/**
+ * Streaming readers and writers for text and bitmap maze formats.
+ * <p>
+ * Two formats are supported:
+ * <ul>
+ * <li>ASCII grids, one line per row, with {@code #} for a blocked cell and {@code .} for an
+ * open cell. Lines may end in {@code \n} or {@code \r\n}, and empty lines are ignored.</li>
+ * <li>PBM bitmaps, in both plain (P1) and raw (P4) form, where a black pixel is a blocked
+ * cell and a white pixel is an open cell.</li>
+ * </ul>
+ * Readers decode one row at a time into a packed word array and store it with
+ * {@link Maze#importRow(int, int, int, long[])}, so sparse backends only create entries for
+ * cells that differ from the default value chosen for the new maze. Writers read rows with
+ * {@link Maze#exportRow(int, int, int, long[])}. Channels are read and written through
+ * buffers and are not closed.
+ */
+public final class MazeFormats {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int PLAIN_LINE_LIMIT = 70; // PBM plain lines should not exceed this
+
+    private MazeFormats() {
+    }
+
+    /**
+     * Read an ASCII grid.
+     * <p>
+     * The dimensions of an ASCII grid are only known at its end, so rows are kept packed at
+     * one bit per cell until the last line has been read. The new maze's default value is
+     * whichever of open and blocked is more common, so sparse backends store the fewest cells.
+     *
+     * @param in      the channel to read from
+     * @param factory creates the maze once its dimensions are known
+     * @return the maze read
+     * @throws IOException         if reading the channel fails
+     * @throws MazeFormatException if a line has a different length than the first, or contains
+     *                             a character other than {@code #} or {@code .}, or the
+     *                             grid is empty
+     */
+    public static Maze readAscii(ReadableByteChannel in, MazeFactory factory)
+            throws IOException {
+        ChannelReader reader = new ChannelReader(in);
+        List<long[]> rows = new ArrayList<>();
+        int width = -1;
+        long openCells = 0;
+        long[] words = new long[1];
+        int col = 0;
+        int c;
+        while (true) {
+            c = reader.read();
+            if (c == '\r') {
+                continue;
+            }
+            if (c == '\n' || c == -1) {
+                if (col > 0) {
+                    if (width == -1) {
+                        width = col;
+                    } else if (col != width) {
+                        throw new MazeFormatException(String.format(
+                                "Row %d has %d cells, expected %d.", rows.size(), col, width));
+                    }
+                    openCells += RowBits.count(words, width);
+                    rows.add(words);
+                    words = new long[RowBits.wordCount(width)];
+                    col = 0;
+                }
+                if (c == -1) {
+                    break;
+                }
+                continue;
+            }
+            if (c != '#' && c != '.') {
+                throw new MazeFormatException(String.format(
+                        "Unexpected character '%c' at row %d, column %d.", (char) c,
+                        rows.size(), col));
+            }
+            if (col >>> 6 == words.length) {
+                words = Arrays.copyOf(words, words.length * 2);
+            }
+            if (c == '.') {
+                words[col >>> 6] |= 1L << col;
+            }
+            col++;
+        }
+        if (rows.isEmpty()) {
+            throw new MazeFormatException("ASCII maze has no rows.");
+        }
+        int height = rows.size();
+        Maze maze = factory.create(width, height, openCells * 2 >= (long) width * height);
+        for (int row = 0; row < height; row++) {
+            maze.importRow(row, 0, width, rows.get(row));
+        }
+        return maze;
+    }
+
+    /**
+     * Write a maze as an ASCII grid, one {@code \n}-terminated line per row.
+     *
+     * @param maze the maze to write
+     * @param out  the channel to write to
+     * @throws IOException if writing the channel fails
+     */
+    public static void writeAscii(Maze maze, WritableByteChannel out) throws IOException {
+        int width = maze.getWidth();
+        ChannelWriter writer = new ChannelWriter(out);
+        long[] words = null;
+        for (int row = 0; row < maze.getHeight(); row++) {
+            words = maze.exportRow(row, 0, width, words);
+            for (int col = 0; col < width; col++) {
+                writer.write(RowBits.get(words, col) ? '.' : '#');
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Read a plain (P1) or raw (P4) PBM bitmap, detected from its magic number.
+     * The header gives the dimensions, so every row is stored in the maze as soon as it
+     * has been decoded.
+     *
+     * @param in           the channel to read from
+     * @param factory      creates the maze once the header has been read
+     * @param defaultValue the default value for the new maze
+     * @return the maze read
+     * @throws IOException         if reading the channel fails
+     * @throws MazeFormatException if the data is not a well-formed P1 or P4 bitmap
+     */
+    public static Maze readPbm(ReadableByteChannel in, MazeFactory factory, boolean defaultValue)
+            throws IOException {
+        ChannelReader reader = new ChannelReader(in);
+        if (reader.read() != 'P') {
+            throw new MazeFormatException("Missing PBM magic number.");
+        }
+        int kind = reader.read();
+        if (kind != '1' && kind != '4') {
+            throw new MazeFormatException("Unsupported PBM magic number P" + (char) kind + ".");
+        }
+        int width = readHeaderInt(reader);
+        int height = readHeaderInt(reader);
+        Maze maze = factory.create(width, height, defaultValue);
+        long[] words = new long[RowBits.wordCount(width)];
+        for (int row = 0; row < height; row++) {
+            if (kind == '1') {
+                readPlainRow(reader, words, width, row);
+            } else {
+                readRawRow(reader, words, width, row);
+            }
+            maze.importRow(row, 0, width, words);
+        }
+        return maze;
+    }
+
+    /**
+     * Write a maze as a PBM bitmap.
+     *
+     * @param maze   the maze to write
+     * @param out    the channel to write to
+     * @param binary true for the raw P4 format, false for the plain P1 format
+     * @throws IOException if writing the channel fails
+     */
+    public static void writePbm(Maze maze, WritableByteChannel out, boolean binary)
+            throws IOException {
+        int width = maze.getWidth();
+        ChannelWriter writer = new ChannelWriter(out);
+        writer.write((binary ? "P4\n" : "P1\n") + width + " " + maze.getHeight() + "\n");
+        long[] words = null;
+        for (int row = 0; row < maze.getHeight(); row++) {
+            words = maze.exportRow(row, 0, width, words);
+            if (binary) {
+                for (int col = 0; col < width; col += 8) {
+                    int open = (int) (words[col >>> 6] >>> (col & 63)) & 0xFF;
+                    int black = Integer.reverse(~open & 0xFF) >>> 24;
+                    if (width - col < 8) {
+                        black &= 0xFF00 >>> (width - col); // padding bits are written white
+                    }
+                    writer.write(black);
+                }
+            } else {
+                for (int col = 0; col < width; col++) {
+                    if (col > 0 && col % PLAIN_LINE_LIMIT == 0) {
+                        writer.write('\n');
+                    }
+                    writer.write(RowBits.get(words, col) ? '0' : '1');
+                }
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    // Decode one row of P1 digits, skipping whitespace and comments between them
+    private static void readPlainRow(ChannelReader reader, long[] words, int width, int row)
+            throws IOException {
+        RowBits.fill(words, width, false);
+        for (int col = 0; col < width; col++) {
+            int c = skipWhitespace(reader);
+            if (c == '0') {
+                words[col >>> 6] |= 1L << col;
+            } else if (c != '1') {
+                throw new MazeFormatException(String.format(
+                        "Expected 0 or 1 at row %d, column %d.", row, col));
+            }
+        }
+    }
+
+    // Decode one row of P4 bytes, eight pixels per byte with the first pixel in the high bit
+    private static void readRawRow(ChannelReader reader, long[] words, int width, int row)
+            throws IOException {
+        RowBits.fill(words, width, false);
+        for (int col = 0; col < width; col += 8) {
+            int b = reader.read();
+            if (b == -1) {
+                throw new MazeFormatException("PBM raster ends early at row " + row + ".");
+            }
+            long open = Integer.reverse(~b & 0xFF) >>> 24;
+            words[col >>> 6] |= open << (col & 63);
+        }
+        if ((width & 63) != 0) {
+            words[width >>> 6] &= -1L >>> -width; // drop the padding bits of the last byte
+        }
+    }
+
+    // Read a positive decimal number from the header and the single whitespace after it
+    private static int readHeaderInt(ChannelReader reader) throws IOException {
+        int c = skipWhitespace(reader);
+        if (c < '0' || c > '9') {
+            throw new MazeFormatException("Expected a number in the PBM header.");
+        }
+        long value = 0;
+        while (c >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw new MazeFormatException("PBM dimension is too large.");
+            }
+            c = reader.read();
+        }
+        if (c != -1 && !Character.isWhitespace(c)) {
+            throw new MazeFormatException("Expected whitespace after a PBM header number.");
+        }
+        if (value == 0) {
+            throw new MazeFormatException("PBM dimension must be positive.");
+        }
+        return (int) value;
+    }
+
+    // Return the next byte that is not whitespace or part of a # comment
+    private static int skipWhitespace(ChannelReader reader) throws IOException {
+        int c = reader.read();
+        while (c != -1) {
+            if (c == '#') {
+                while (c != -1 && c != '\n') {
+                    c = reader.read();
+                }
+            } else if (!Character.isWhitespace(c)) {
+                return c;
+            }
+            c = reader.read();
+        }
+        return c;
+    }
+
+    // Buffered single-byte reads from a channel
+    private static final class ChannelReader {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        ChannelReader(ReadableByteChannel channel) {
+            this.channel = channel;
+            buffer.flip();
+        }
+
+        int read() throws IOException {
+            while (!buffer.hasRemaining()) {
+                buffer.clear();
+                int count = channel.read(buffer);
+                buffer.flip();
+                if (count == -1) {
+                    return -1;
+                }
+            }
+            return buffer.get() & 0xFF;
+        }
+    }
+
+    // Buffered single-byte writes to a channel
+    private static final class ChannelWriter {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        ChannelWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put((byte) b);
+        }
+
+        void write(String text) throws IOException {
+            for (byte b : text.getBytes(StandardCharsets.US_ASCII)) {
+                write(b);
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
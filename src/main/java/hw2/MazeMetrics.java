@@ -0,0 +1,197 @@
+package hw2;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Metrics collected by an {@link InstrumentedMaze}.
+ * <p>
+ * Latencies are recorded in nanoseconds. Backends that walk linked structures (currently
+ * {@link SparseMaze}) report how many nodes each operation visited. Instances are not
+ * thread-safe and are meant to be owned by a single instrumented maze.
+ */
+public class MazeMetrics {
+    private final Histogram isOpenNanos = new Histogram();
+    private final Histogram setCellNanos = new Histogram();
+    private final Histogram clearNanos = new Histogram();
+    private final Histogram exportRowNanos = new Histogram();
+    private final Histogram importRowNanos = new Histogram();
+    private final Histogram nodesTraversed = new Histogram();
+    private long pendingNodes = -1; // negative until a backend reports during an operation
+    private long iteratorCount;
+    private long iteratedCells;
+    private long iterationNanos;
+
+    /**
+     * Get the latency histogram for isOpen calls.
+     *
+     * @return the isOpen latency histogram in nanoseconds
+     */
+    public Histogram getIsOpenNanos() {
+        return isOpenNanos;
+    }
+
+    /**
+     * Get the latency histogram for setCell calls.
+     *
+     * @return the setCell latency histogram in nanoseconds
+     */
+    public Histogram getSetCellNanos() {
+        return setCellNanos;
+    }
+
+    /**
+     * Get the latency histogram for clear calls.
+     *
+     * @return the clear latency histogram in nanoseconds
+     */
+    public Histogram getClearNanos() {
+        return clearNanos;
+    }
+
+    /**
+     * Get the latency histogram for exportRow calls.
+     *
+     * @return the exportRow latency histogram in nanoseconds
+     */
+    public Histogram getExportRowNanos() {
+        return exportRowNanos;
+    }
+
+    /**
+     * Get the latency histogram for importRow calls.
+     *
+     * @return the importRow latency histogram in nanoseconds
+     */
+    public Histogram getImportRowNanos() {
+        return importRowNanos;
+    }
+
+    /**
+     * Get the histogram of nodes visited per isOpen, setCell or exportRow call.
+     * Only backends that walk nodes record into it.
+     *
+     * @return the nodes-traversed histogram
+     */
+    public Histogram getNodesTraversed() {
+        return nodesTraversed;
+    }
+
+    /**
+     * Get the number of iterators that ran to exhaustion.
+     *
+     * @return the completed iterator count
+     */
+    public long getIteratorCount() {
+        return iteratorCount;
+    }
+
+    /**
+     * Get the number of cells returned by iterators that ran to exhaustion.
+     *
+     * @return the iterated cell count
+     */
+    public long getIteratedCells() {
+        return iteratedCells;
+    }
+
+    /**
+     * Get the total time spent between creating and exhausting iterators.
+     *
+     * @return the iteration time in nanoseconds
+     */
+    public long getIterationNanos() {
+        return iterationNanos;
+    }
+
+    /**
+     * Discard every recorded value.
+     */
+    public void reset() {
+        isOpenNanos.reset();
+        setCellNanos.reset();
+        clearNanos.reset();
+        exportRowNanos.reset();
+        importRowNanos.reset();
+        nodesTraversed.reset();
+        pendingNodes = -1;
+        iteratorCount = 0;
+        iteratedCells = 0;
+        iterationNanos = 0;
+    }
+
+    /**
+     * Export the current values as a flat, ordered map of metric names to values.
+     * The map is a copy and does not change as more values are recorded.
+     *
+     * @return the metrics snapshot
+     */
+    public Map<String, Number> snapshot() {
+        Map<String, Number> snapshot = new LinkedHashMap<>();
+        putHistogram(snapshot, "isOpen.nanos", isOpenNanos);
+        putHistogram(snapshot, "setCell.nanos", setCellNanos);
+        putHistogram(snapshot, "clear.nanos", clearNanos);
+        putHistogram(snapshot, "exportRow.nanos", exportRowNanos);
+        putHistogram(snapshot, "importRow.nanos", importRowNanos);
+        putHistogram(snapshot, "nodesTraversed", nodesTraversed);
+        snapshot.put("iterator.count", iteratorCount);
+        snapshot.put("iterator.cells", iteratedCells);
+        snapshot.put("iterator.nanos", iterationNanos);
+        snapshot.put("iterator.cellsPerSecond",
+                iterationNanos == 0 ? 0.0 : iteratedCells * 1e9 / iterationNanos);
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    // Called by backends during an operation; flushed into the histogram when it completes
+    void addNodesTraversed(int nodes) {
+        pendingNodes = Math.max(pendingNodes, 0) + nodes;
+    }
+
+    void recordIsOpen(long nanos) {
+        isOpenNanos.record(nanos);
+        flushNodes();
+    }
+
+    void recordSetCell(long nanos) {
+        setCellNanos.record(nanos);
+        flushNodes();
+    }
+
+    void recordClear(long nanos) {
+        clearNanos.record(nanos);
+    }
+
+    void recordExportRow(long nanos) {
+        exportRowNanos.record(nanos);
+        flushNodes();
+    }
+
+    void recordImportRow(long nanos) {
+        importRowNanos.record(nanos);
+        flushNodes();
+    }
+
+    void recordIteration(long cells, long nanos) {
+        iteratorCount++;
+        iteratedCells += cells;
+        iterationNanos += nanos;
+    }
+
+    // Only operations on node-walking backends produce a nodes-traversed sample
+    private void flushNodes() {
+        if (pendingNodes >= 0) {
+            nodesTraversed.record(pendingNodes);
+            pendingNodes = -1;
+        }
+    }
+
+    private static void putHistogram(Map<String, Number> snapshot, String name,
+            Histogram histogram) {
+        snapshot.put(name + ".count", histogram.getCount());
+        snapshot.put(name + ".mean", histogram.getMean());
+        snapshot.put(name + ".p50", histogram.getValueAtPercentile(50));
+        snapshot.put(name + ".p99", histogram.getValueAtPercentile(99));
+        snapshot.put(name + ".max", histogram.getMax());
+    }
+}
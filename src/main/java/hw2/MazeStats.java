@@ -0,0 +1,141 @@
+package hw2;
+
+import java.util.Arrays;
+
+import exceptions.CellIndexOutOfBoundsException;
+import exceptions.DimensionException;
+
+/**
+ * Bulk statistics and comparisons over mazes.
+ * <p>
+ * Every operation reads rows through {@link Maze#exportRow(int, int, int, long[])} and works
+ * on 64 cells per word with {@link Long#bitCount(long)} and bitwise operations, so backends
+ * with a bulk export never go through the boxed iterator or per-cell lookups.
+ */
+public final class MazeStats {
+
+    private MazeStats() {
+    }
+
+    /**
+     * Count the open cells of a maze.
+     *
+     * @param maze the maze
+     * @return the number of open cells
+     */
+    public static long countOpen(Maze maze) {
+        return countOpen(maze, 0, 0, maze.getHeight(), maze.getWidth());
+    }
+
+    /**
+     * Count the open cells in a rectangular region of a maze.
+     *
+     * @param maze     the maze
+     * @param row      the top row of the region (0-indexed)
+     * @param col      the left column of the region (0-indexed)
+     * @param rowCount the number of rows in the region
+     * @param colCount the number of columns in the region
+     * @return the number of open cells in the region
+     * @throws DimensionException            if rowCount or colCount are non-positive
+     * @throws CellIndexOutOfBoundsException if the region extends outside the maze
+     */
+    public static long countOpen(Maze maze, int row, int col, int rowCount, int colCount) {
+        if (maze instanceof QuadTreeMaze) {
+            return ((QuadTreeMaze) maze).countOpen(row, col, rowCount, colCount);
+        }
+        if (rowCount <= 0 || colCount <= 0) {
+            throw new DimensionException(colCount, rowCount);
+        }
+        RowBits.checkRun(maze, row, col, colCount);
+        RowBits.checkRun(maze, row + rowCount - 1, col, colCount);
+        long[] words = null;
+        long count = 0;
+        for (int r = row; r < row + rowCount; r++) {
+            words = maze.exportRow(r, col, colCount, words);
+            count += RowBits.count(words, colCount);
+        }
+        return count;
+    }
+
+    /**
+     * Count the open cells of every row of a maze.
+     *
+     * @param maze the maze
+     * @return the open cell count of each row, indexed by row
+     */
+    public static int[] countOpenPerRow(Maze maze) {
+        int width = maze.getWidth();
+        int[] counts = new int[maze.getHeight()];
+        long[] words = null;
+        for (int row = 0; row < counts.length; row++) {
+            words = maze.exportRow(row, 0, width, words);
+            counts[row] = RowBits.count(words, width);
+        }
+        return counts;
+    }
+
+    /**
+     * Check whether two mazes have the same dimensions and the same value in every cell.
+     * Default values and storage backends are not compared.
+     *
+     * @param a the first maze
+     * @param b the second maze
+     * @return true if every cell matches
+     */
+    public static boolean equalsContent(Maze a, Maze b) {
+        if (a.getWidth() != b.getWidth() || a.getHeight() != b.getHeight()) {
+            return false;
+        }
+        int width = a.getWidth();
+        int wordCount = RowBits.wordCount(width);
+        long[] wordsA = null;
+        long[] wordsB = null;
+        for (int row = 0; row < a.getHeight(); row++) {
+            wordsA = a.exportRow(row, 0, width, wordsA);
+            wordsB = b.exportRow(row, 0, width, wordsB);
+            if (!Arrays.equals(wordsA, 0, wordCount, wordsB, 0, wordCount)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the cells whose values differ between two mazes of the same dimensions.
+     * Applying the delta means setting each listed cell of {@code a} to its value in {@code b},
+     * which is the opposite of its current value.
+     *
+     * @param a the first maze
+     * @param b the second maze
+     * @return the row-major linear indices of differing cells in ascending order
+     * @throws DimensionException if the mazes have different dimensions
+     */
+    public static int[] diff(Maze a, Maze b) {
+        if (a.getWidth() != b.getWidth() || a.getHeight() != b.getHeight()) {
+            throw new DimensionException(String.format(
+                    "Cannot compare mazes of different dimensions: %dx%d and %dx%d.",
+                    a.getWidth(), a.getHeight(), b.getWidth(), b.getHeight()));
+        }
+        int width = a.getWidth();
+        int wordCount = RowBits.wordCount(width);
+        long[] wordsA = null;
+        long[] wordsB = null;
+        int[] delta = new int[16];
+        int size = 0;
+        for (int row = 0; row < a.getHeight(); row++) {
+            wordsA = a.exportRow(row, 0, width, wordsA);
+            wordsB = b.exportRow(row, 0, width, wordsB);
+            for (int w = 0; w < wordCount; w++) {
+                long changed = wordsA[w] ^ wordsB[w];
+                while (changed != 0) {
+                    if (size == delta.length) {
+                        delta = Arrays.copyOf(delta, size * 2);
+                    }
+                    delta[size++] = row * width + (w << 6) + Long.numberOfTrailingZeros(changed);
+                    changed &= changed - 1;
+                }
+            }
+        }
+        return Arrays.copyOf(delta, size);
+    }
+}
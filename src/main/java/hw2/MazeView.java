@@ -0,0 +1,226 @@
+package hw2;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import exceptions.CellIndexOutOfBoundsException;
+import exceptions.DimensionException;
+
+/**
+ * Live rectangular window onto another maze.
+ * <p>
+ * A view stores no cells of its own: reads and writes are bounds-checked against the window
+ * and translated into the parent's coordinates, so changes made through either side are
+ * visible in the other. Bulk reads, bulk writes and iteration go through the parent's
+ * {@link Maze#exportRow(int, int, int, long[])} and {@link Maze#importRow(int, int, int, long[])},
+ * so a window over a backend with bulk row access scans at the same speed as the backend.
+ * <p>
+ * The default value of a view is the parent's. Clearing a view sets every cell inside the
+ * window and leaves the rest of the parent, and its default value, untouched.
+ */
+public class MazeView implements Maze {
+    private final Maze parent;
+    private final int rowOffset;
+    private final int colOffset;
+    private final int width;
+    private final int height;
+    private long clearCount; // keeps the version moving when a clear changes no cell
+
+    /**
+     * Constructs a view of the window of a parent maze with the given top-left corner and size.
+     *
+     * @param parent    the maze to view
+     * @param rowOffset the parent row shown as row 0 of the view
+     * @param colOffset the parent column shown as column 0 of the view
+     * @param height    the number of rows in the view
+     * @param width     the number of columns in the view
+     * @throws DimensionException            if width or height are non-positive
+     * @throws CellIndexOutOfBoundsException if the window extends outside the parent
+     */
+    MazeView(Maze parent, int rowOffset, int colOffset, int height, int width) {
+        if (width <= 0 || height <= 0) {
+            throw new DimensionException(width, height);
+        }
+        int parentWidth = parent.getWidth();
+        int parentHeight = parent.getHeight();
+        if (rowOffset < 0 || colOffset < 0 || rowOffset >= parentHeight
+                || colOffset >= parentWidth) {
+            throw new CellIndexOutOfBoundsException(rowOffset, colOffset, parentWidth,
+                    parentHeight);
+        }
+        if (height > parentHeight - rowOffset || width > parentWidth - colOffset) {
+            throw new CellIndexOutOfBoundsException(rowOffset + height - 1,
+                    colOffset + width - 1, parentWidth, parentHeight);
+        }
+        this.parent = parent;
+        this.rowOffset = rowOffset;
+        this.colOffset = colOffset;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Get the maze this view reads and writes.
+     *
+     * @return the parent maze
+     */
+    public Maze getParent() {
+        return parent;
+    }
+
+    /**
+     * Get the parent row shown as row 0 of this view.
+     *
+     * @return the row offset
+     */
+    public int getRowOffset() {
+        return rowOffset;
+    }
+
+    /**
+     * Get the parent column shown as column 0 of this view.
+     *
+     * @return the column offset
+     */
+    public int getColOffset() {
+        return colOffset;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean getDefaultValue() {
+        return parent.getDefaultValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A view's version follows its parent's, so it also changes when cells outside the
+     * window are modified.
+     */
+    @Override
+    public long getVersion() {
+        return parent.getVersion() + clearCount;
+    }
+
+    @Override
+    public boolean isOpen(int row, int col) {
+        checkBounds(row, col);
+        return parent.isOpen(row + rowOffset, col + colOffset);
+    }
+
+    @Override
+    public void setCell(int row, int col, boolean isOpen) {
+        checkBounds(row, col);
+        parent.setCell(row + rowOffset, col + colOffset, isOpen);
+    }
+
+    @Override
+    public boolean isOpenUnchecked(int linearIndex) {
+        return parent.isOpenUnchecked(toParentIndex(linearIndex));
+    }
+
+    @Override
+    public void setCellUnchecked(int linearIndex, boolean isOpen) {
+        parent.setCellUnchecked(toParentIndex(linearIndex), isOpen);
+    }
+
+    @Override
+    public void clear(boolean defaultValue) {
+        if (parent instanceof QuadTreeMaze) {
+            ((QuadTreeMaze) parent).setRegion(rowOffset, colOffset, height, width, defaultValue);
+        } else {
+            long[] words = new long[RowBits.wordCount(width)];
+            RowBits.fill(words, width, defaultValue);
+            for (int row = rowOffset; row < rowOffset + height; row++) {
+                parent.importRow(row, colOffset, width, words);
+            }
+        }
+        clearCount++;
+    }
+
+    @Override
+    public void importRow(int row, int fromCol, int length, long[] words) {
+        RowBits.checkRun(this, row, fromCol, length);
+        parent.importRow(row + rowOffset, fromCol + colOffset, length, words);
+    }
+
+    @Override
+    public long[] exportRow(int row, int fromCol, int length, long[] dest) {
+        RowBits.checkRun(this, row, fromCol, length);
+        return parent.exportRow(row + rowOffset, fromCol + colOffset, length, dest);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Views of views are flattened, so the result always reads the underlying maze directly.
+     */
+    @Override
+    public Maze view(int viewRowOffset, int viewColOffset, int viewHeight, int viewWidth) {
+        if (viewWidth <= 0 || viewHeight <= 0) {
+            throw new DimensionException(viewWidth, viewHeight);
+        }
+        checkBounds(viewRowOffset, viewColOffset);
+        checkBounds(viewRowOffset + viewHeight - 1, viewColOffset + viewWidth - 1);
+        return new MazeView(parent, rowOffset + viewRowOffset, colOffset + viewColOffset,
+                viewHeight, viewWidth);
+    }
+
+    @Override
+    public Iterator<Boolean> iterator() {
+        return new MazeViewIterator();
+    }
+
+    // Iterator exporting one row of the window at a time and reading cells from the bits
+    private class MazeViewIterator implements Iterator<Boolean> {
+        private long[] rowWords;
+        private int row;
+        private int col;
+
+        @Override
+        public boolean hasNext() {
+            return row < height;
+        }
+
+        @Override
+        public Boolean next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (col == 0) {
+                rowWords = exportRow(row, 0, width, rowWords);
+            }
+            boolean value = RowBits.get(rowWords, col);
+            col++;
+            if (col == width) {
+                col = 0;
+                row++;
+            }
+            return value;
+        }
+    }
+
+    // Translate a linear index of the window into the parent's linear index
+    private int toParentIndex(int linearIndex) {
+        int row = linearIndex / width + rowOffset;
+        int col = linearIndex % width + colOffset;
+        return row * parent.getWidth() + col;
+    }
+
+    // Validate that the provided coordinates are within the window
+    private void checkBounds(int row, int col) {
+        if (row < 0 || row >= height || col < 0 || col >= width) {
+            throw new CellIndexOutOfBoundsException(row, col, width, height);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package hw2;
+
+import exceptions.CellIndexOutOfBoundsException;
+
+/**
+ * Bit-packed copy of a maze, one row of words after another.
+ * <p>
+ * Row {@code r} occupies words {@code r * wordsPerRow} up to the next row, in the layout of
+ * {@link Maze#exportRow(int, int, int, long[])}. The copy remembers the maze version it was
+ * taken at so callers can tell when it needs to be taken again. Snapshots shared between
+ * threads, as in {@link PathQueryService}, are never changed after construction; a single
+ * owner such as {@link Visibility} may recopy individual rows with
+ * {@link #copyRow(Maze, int, long[])}.
+ */
+final class PackedGrid {
+    final int width;
+    final int height;
+    final int wordsPerRow;
+    final long[] bits;
+    final long version;
+
+    /**
+     * Copies the current contents of a maze.
+     *
+     * @param maze the maze to copy
+     */
+    PackedGrid(Maze maze) {
+        this.width = maze.getWidth();
+        this.height = maze.getHeight();
+        this.wordsPerRow = RowBits.wordCount(width);
+        this.bits = new long[wordsPerRow * height];
+        this.version = maze.getVersion();
+        long[] buffer = null;
+        for (int row = 0; row < height; row++) {
+            buffer = copyRow(maze, row, buffer);
+        }
+    }
+
+    /**
+     * Copy the current contents of one maze row over the same row of this grid.
+     *
+     * @param maze   the maze this grid was taken from
+     * @param row    the row to copy (0-indexed)
+     * @param buffer scratch array for the export, or null
+     * @return the scratch array, to pass to the next call
+     */
+    long[] copyRow(Maze maze, int row, long[] buffer) {
+        long[] words = maze.exportRow(row, 0, width, buffer);
+        System.arraycopy(words, 0, bits, row * wordsPerRow, wordsPerRow);
+        return words;
+    }
+
+    /**
+     * Check if a cell is open, without bounds checks.
+     *
+     * @param row the row coordinate (0-indexed)
+     * @param col the column coordinate (0-indexed)
+     * @return true if the cell is open
+     */
+    boolean isOpen(int row, int col) {
+        return (bits[row * wordsPerRow + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    /**
+     * Check if every cell of a run within one row is open, testing whole words at a time.
+     *
+     * @param row  the row coordinate (0-indexed)
+     * @param from the first column, inclusive
+     * @param to   the last column, exclusive
+     * @return true if the run is empty or all of its cells are open
+     */
+    boolean allOpen(int row, int from, int to) {
+        if (from >= to) {
+            return true;
+        }
+        int base = row * wordsPerRow;
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        for (int w = first; w <= last; w++) {
+            long mask = -1L;
+            if (w == first) {
+                mask &= -1L << from;
+            }
+            if (w == last) {
+                mask &= -1L >>> -to;
+            }
+            if ((bits[base + w] & mask) != mask) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validate that the provided coordinates are within the grid.
+     *
+     * @param row the row coordinate (0-indexed)
+     * @param col the column coordinate (0-indexed)
+     * @throws CellIndexOutOfBoundsException if coordinates are invalid
+     */
+    void checkBounds(int row, int col) {
+        if (row < 0 || row >= height || col < 0 || col >= width) {
+            throw new CellIndexOutOfBoundsException(row, col, width, height);
+        }
+    }
+}
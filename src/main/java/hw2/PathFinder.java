@@ -0,0 +1,26 @@
+package hw2;
+
+import exceptions.CellIndexOutOfBoundsException;
+
+/**
+ * Strategy for finding a path between two cells of a maze.
+ * <p>
+ * Paths move between orthogonally adjacent open cells and are reported as row-major
+ * linear indices ({@code row * width + col}), starting with the start cell and ending
+ * with the goal cell.
+ */
+public interface PathFinder {
+
+    /**
+     * Find a path from the start cell to the goal cell.
+     *
+     * @param maze     the maze to search
+     * @param startRow the row of the start cell (0-indexed)
+     * @param startCol the column of the start cell (0-indexed)
+     * @param goalRow  the row of the goal cell (0-indexed)
+     * @param goalCol  the column of the goal cell (0-indexed)
+     * @return the linear indices of the cells on the path, or null if the goal is unreachable
+     * @throws CellIndexOutOfBoundsException if either cell is outside the maze
+     */
+    int[] findPath(Maze maze, int startRow, int startCol, int goalRow, int goalCol);
+}
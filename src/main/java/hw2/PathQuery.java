@@ -0,0 +1,74 @@
+package hw2;
+
+/**
+ * A request for a path between two cells of a maze, answered by a {@link PathQueryService}.
+ */
+public final class PathQuery {
+    private final Maze maze;
+    private final int startRow;
+    private final int startCol;
+    private final int goalRow;
+    private final int goalCol;
+
+    /**
+     * Constructs a query for a path from the start cell to the goal cell.
+     *
+     * @param maze     the maze to search
+     * @param startRow the row of the start cell (0-indexed)
+     * @param startCol the column of the start cell (0-indexed)
+     * @param goalRow  the row of the goal cell (0-indexed)
+     * @param goalCol  the column of the goal cell (0-indexed)
+     */
+    public PathQuery(Maze maze, int startRow, int startCol, int goalRow, int goalCol) {
+        this.maze = maze;
+        this.startRow = startRow;
+        this.startCol = startCol;
+        this.goalRow = goalRow;
+        this.goalCol = goalCol;
+    }
+
+    /**
+     * Get the maze to search.
+     *
+     * @return the maze
+     */
+    public Maze getMaze() {
+        return maze;
+    }
+
+    /**
+     * Get the row of the start cell.
+     *
+     * @return the start row
+     */
+    public int getStartRow() {
+        return startRow;
+    }
+
+    /**
+     * Get the column of the start cell.
+     *
+     * @return the start column
+     */
+    public int getStartCol() {
+        return startCol;
+    }
+
+    /**
+     * Get the row of the goal cell.
+     *
+     * @return the goal row
+     */
+    public int getGoalRow() {
+        return goalRow;
+    }
+
+    /**
+     * Get the column of the goal cell.
+     *
+     * @return the goal column
+     */
+    public int getGoalCol() {
+        return goalCol;
+    }
+}
@@ -0,0 +1,236 @@
+package hw2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import exceptions.CellIndexOutOfBoundsException;
+
+/**
+ * Service answering batches of path queries in parallel on a work-stealing pool.
+ * <p>
+ * Searches never read a live maze. Before a batch starts, the calling thread takes a
+ * bit-packed snapshot of every maze the batch uses, reusing the previous snapshot when the
+ * maze's {@link Maze#getVersion() version} has not changed, so each batch sees every maze in
+ * one consistent state even if it is modified while the searches run. Because the maze
+ * classes themselves are not thread-safe, a maze must not be modified while
+ * {@link #findPaths(List)} is taking its snapshot.
+ * <p>
+ * Each pool worker keeps its own search buffers and reuses them for every query it runs, so a
+ * steady stream of queries allocates only the returned paths. Paths are identical to those of
+ * {@link BreadthFirstPathFinder}.
+ */
+public class PathQueryService implements AutoCloseable {
+    // Queries per task below which a batch is searched sequentially instead of split further
+    private static final int SPLIT_THRESHOLD = 8;
+
+    private final ForkJoinPool pool;
+    private final Map<Maze, PackedGrid> snapshots = new WeakHashMap<>();
+    private final ThreadLocal<SearchBuffers> buffers = ThreadLocal.withInitial(SearchBuffers::new);
+
+    /**
+     * Constructs a PathQueryService using one worker per available processor.
+     */
+    public PathQueryService() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a PathQueryService with the given number of workers.
+     *
+     * @param parallelism the number of worker threads
+     * @throws IllegalArgumentException if parallelism is non-positive
+     */
+    public PathQueryService(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Get the number of worker threads.
+     *
+     * @return the parallelism of the pool
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Answer a batch of queries, blocking until every query has been searched.
+     *
+     * @param queries the queries to answer
+     * @return the path for each query in the same order, as in {@link PathFinder#findPath};
+     *         an element is null when its goal is unreachable
+     * @throws CellIndexOutOfBoundsException if any query refers to a cell outside its maze;
+     *                                       no query is searched in that case
+     */
+    public List<int[]> findPaths(List<PathQuery> queries) {
+        PackedGrid[] batchSnapshots = new PackedGrid[queries.size()];
+        Map<Maze, PackedGrid> batchMazes = new IdentityHashMap<>();
+        for (int i = 0; i < batchSnapshots.length; i++) {
+            PathQuery query = queries.get(i);
+            PackedGrid snapshot = batchMazes.get(query.getMaze());
+            if (snapshot == null) {
+                snapshot = snapshotOf(query.getMaze());
+                batchMazes.put(query.getMaze(), snapshot);
+            }
+            snapshot.checkBounds(query.getStartRow(), query.getStartCol());
+            snapshot.checkBounds(query.getGoalRow(), query.getGoalCol());
+            batchSnapshots[i] = snapshot;
+        }
+        int[][] results = new int[batchSnapshots.length][];
+        if (results.length > 0) {
+            pool.invoke(new SearchTask(queries, batchSnapshots, results, 0, results.length));
+        }
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    /**
+     * Shut down the worker threads. Batches already running are allowed to finish.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    // Reuse the cached snapshot of a maze unless the maze changed since it was taken
+    private PackedGrid snapshotOf(Maze maze) {
+        synchronized (snapshots) {
+            PackedGrid snapshot = snapshots.get(maze);
+            long version = maze.getVersion();
+            if (snapshot == null || snapshot.version != version) {
+                snapshot = new PackedGrid(maze);
+                snapshots.put(maze, snapshot);
+            }
+            return snapshot;
+        }
+    }
+
+    // Splits a range of the batch in half until it is small enough to search directly
+    private class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient List<PathQuery> queries;
+        private final transient PackedGrid[] batchSnapshots;
+        private final int[][] results;
+        private final int from;
+        private final int to;
+
+        SearchTask(List<PathQuery> queries, PackedGrid[] batchSnapshots, int[][] results,
+                int from, int to) {
+            this.queries = queries;
+            this.batchSnapshots = batchSnapshots;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                SearchBuffers searchBuffers = buffers.get();
+                for (int i = from; i < to; i++) {
+                    PathQuery query = queries.get(i);
+                    results[i] = searchBuffers.search(batchSnapshots[i], query.getStartRow(),
+                            query.getStartCol(), query.getGoalRow(), query.getGoalCol());
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SearchTask(queries, batchSnapshots, results, from, middle),
+                    new SearchTask(queries, batchSnapshots, results, middle, to));
+        }
+    }
+
+    /**
+     * Per-thread breadth-first search state, grown to the largest maze seen and reused.
+     * Cells are marked visited by stamping them with the current search number, so nothing
+     * has to be cleared between searches.
+     */
+    private static final class SearchBuffers {
+        private int[] queue = new int[0];
+        private int[] parent = new int[0];
+        private int[] visited = new int[0];
+        private int stamp;
+
+        int[] search(PackedGrid snapshot, int startRow, int startCol, int goalRow, int goalCol) {
+            if (!snapshot.isOpen(startRow, startCol) || !snapshot.isOpen(goalRow, goalCol)) {
+                return null;
+            }
+            int width = snapshot.width;
+            int height = snapshot.height;
+            prepare(width * height);
+            int start = startRow * width + startCol;
+            int goal = goalRow * width + goalCol;
+            int headIndex = 0;
+            int tailIndex = 0;
+            queue[tailIndex++] = start;
+            visited[start] = stamp;
+            parent[start] = start;
+
+            while (headIndex < tailIndex) {
+                int cur = queue[headIndex++];
+                if (cur == goal) {
+                    return buildPath(start, goal);
+                }
+                int row = cur / width;
+                int col = cur - row * width;
+                if (row > 0) {
+                    tailIndex = visit(snapshot, tailIndex, cur, row - 1, col);
+                }
+                if (col < width - 1) {
+                    tailIndex = visit(snapshot, tailIndex, cur, row, col + 1);
+                }
+                if (row < height - 1) {
+                    tailIndex = visit(snapshot, tailIndex, cur, row + 1, col);
+                }
+                if (col > 0) {
+                    tailIndex = visit(snapshot, tailIndex, cur, row, col - 1);
+                }
+            }
+            return null;
+        }
+
+        // Grow the buffers if needed and start a new visited stamp
+        private void prepare(int cells) {
+            if (queue.length < cells) {
+                queue = new int[cells];
+                parent = new int[cells];
+                visited = new int[cells];
+                stamp = 0;
+            }
+            stamp++;
+            if (stamp == 0) {
+                Arrays.fill(visited, 0);
+                stamp = 1;
+            }
+        }
+
+        private int visit(PackedGrid snapshot, int tailIndex, int from, int row, int col) {
+            int index = row * snapshot.width + col;
+            if (visited[index] != stamp && snapshot.isOpen(row, col)) {
+                visited[index] = stamp;
+                parent[index] = from;
+                queue[tailIndex++] = index;
+            }
+            return tailIndex;
+        }
+
+        private int[] buildPath(int start, int goal) {
+            int length = 1;
+            for (int cur = goal; cur != start; cur = parent[cur]) {
+                length++;
+            }
+            int[] path = new int[length];
+            int cur = goal;
+            for (int i = length - 1; i >= 0; i--) {
+                path[i] = cur;
+                cur = parent[cur];
+            }
+            return path;
+        }
+    }
+}
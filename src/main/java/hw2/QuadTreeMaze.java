@@ -0,0 +1,418 @@
+package hw2;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import exceptions.CellIndexOutOfBoundsException;
+import exceptions.DimensionException;
+
+/**
+ * Maze implementation using a region quadtree, suited to walls that form clustered regions.
+ * <p>
+ * The tree covers the smallest power-of-two square containing the maze. Cells of that square
+ * beyond the maze edge are never read, so a quadrant is uniform when its cells inside the maze
+ * all hold the same value. A uniform quadrant is a single leaf, and quadrants are merged back
+ * into a leaf as soon as they become uniform again, so large solid or empty areas cost one
+ * node. Point
+ * reads and writes take O(log n) steps for an n-by-n maze, and rectangle operations only
+ * descend into quadrants that straddle the rectangle edge.
+ */
+public class QuadTreeMaze implements Maze {
+    // Leaves carry no state besides their value, so every leaf is one of two shared instances
+    private static final Node OPEN_LEAF = new Node(true);
+    private static final Node BLOCKED_LEAF = new Node(false);
+
+    private final int width;
+    private final int height;
+    private final int size;
+    private boolean defaultValue;
+    private long version;
+    private Node root;
+    private boolean modified; // set by the recursive update when any cell actually changes
+
+    /**
+     * Node of the quadtree: a leaf holding one value for its whole square, or an internal
+     * node with four children ordered north-west, north-east, south-west, south-east.
+     */
+    private static final class Node {
+        private final boolean value;
+        private final Node[] children;
+
+        Node(boolean value) {
+            this.value = value;
+            this.children = null;
+        }
+
+        Node(Node[] children) {
+            this.value = false;
+            this.children = children;
+        }
+    }
+
+    /**
+     * Constructs a QuadTreeMaze with specified dimensions and default cell value.
+     *
+     * @param width        the width of the maze
+     * @param height       the height of the maze
+     * @param defaultValue the default value for cells in the maze
+     *                     true for open, false for blocked
+     * @throws DimensionException if width or height are non-positive
+     */
+    public QuadTreeMaze(int width, int height, boolean defaultValue) {
+        if (width <= 0 || height <= 0) {
+            throw new DimensionException(width, height);
+        }
+        this.width = width;
+        this.height = height;
+        int side = Math.max(width, height);
+        this.size = side == 1 ? 1 : Integer.highestOneBit(side - 1) << 1;
+        this.defaultValue = defaultValue;
+        this.root = leaf(defaultValue);
+    }
+
+    /**
+     * Constructs a QuadTreeMaze with specified dimensions and default cell value of true (open).
+     *
+     * @param width  the width of the maze
+     * @param height the height of the maze
+     * @throws DimensionException if width or height are non-positive
+     */
+    public QuadTreeMaze(int width, int height) {
+        this(width, height, true);
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean getDefaultValue() {
+        return defaultValue;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean isOpen(int row, int col) {
+        checkBounds(row, col);
+        return lookup(row, col);
+    }
+
+    @Override
+    public boolean isOpenUnchecked(int linearIndex) {
+        return lookup(linearIndex / width, linearIndex % width);
+    }
+
+    @Override
+    public void setCellUnchecked(int linearIndex, boolean isOpen) {
+        int row = linearIndex / width;
+        int col = linearIndex % width;
+        update(row, col, 1, 1, isOpen);
+    }
+
+    // Descend to the leaf holding a cell known to be within bounds
+    private boolean lookup(int row, int col) {
+        Node node = root;
+        int half = size >>> 1;
+        while (node.children != null) {
+            int quadrant = 0;
+            if (row >= half) {
+                row -= half;
+                quadrant = 2;
+            }
+            if (col >= half) {
+                col -= half;
+                quadrant++;
+            }
+            node = node.children[quadrant];
+            half >>>= 1;
+        }
+        return node.value;
+    }
+
+    @Override
+    public void setCell(int row, int col, boolean isOpen) {
+        checkBounds(row, col);
+        update(row, col, 1, 1, isOpen);
+    }
+
+    /**
+     * Set every cell of a rectangular region to the same value.
+     * Quadrants lying entirely inside the region are replaced by a single leaf.
+     *
+     * @param row       the top row of the region (0-indexed)
+     * @param col       the left column of the region (0-indexed)
+     * @param rowCount  the number of rows in the region
+     * @param colCount  the number of columns in the region
+     * @param isOpen    true to make the cells open, false to block them
+     * @throws DimensionException            if rowCount or colCount are non-positive
+     * @throws CellIndexOutOfBoundsException if the region extends outside the maze
+     */
+    public void setRegion(int row, int col, int rowCount, int colCount, boolean isOpen) {
+        checkRegion(row, col, rowCount, colCount);
+        update(row, col, rowCount, colCount, isOpen);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each run of equal cells in the row is written as one rectangle update.
+     */
+    @Override
+    public void importRow(int row, int fromCol, int length, long[] words) {
+        RowBits.checkRun(this, row, fromCol, length);
+        modified = false;
+        for (int from = 0; from < length;) {
+            int to = RowBits.runEnd(words, from, length);
+            root = update(root, 0, 0, size, row, fromCol + from, row + 1, fromCol + to,
+                    RowBits.get(words, from));
+            from = to;
+        }
+        if (modified) {
+            version++;
+        }
+    }
+
+    /**
+     * Count the open cells in a rectangular region.
+     * Uniform quadrants are counted in constant time regardless of their size.
+     *
+     * @param row       the top row of the region (0-indexed)
+     * @param col       the left column of the region (0-indexed)
+     * @param rowCount  the number of rows in the region
+     * @param colCount  the number of columns in the region
+     * @return the number of open cells in the region
+     * @throws DimensionException            if rowCount or colCount are non-positive
+     * @throws CellIndexOutOfBoundsException if the region extends outside the maze
+     */
+    public long countOpen(int row, int col, int rowCount, int colCount) {
+        checkRegion(row, col, rowCount, colCount);
+        return countOpen(root, 0, 0, size, row, col, row + rowCount, col + colCount);
+    }
+
+    @Override
+    public long[] exportRow(int row, int fromCol, int length, long[] dest) {
+        RowBits.checkRun(this, row, fromCol, length);
+        long[] words = RowBits.ensureCapacity(dest, length);
+        RowBits.fill(words, length, false);
+        exportRow(root, 0, 0, size, row, fromCol, fromCol + length, words);
+        return words;
+    }
+
+    /**
+     * Get the number of nodes in the tree, counting each leaf once.
+     * A maze whose cells all hold the same value has exactly one node.
+     *
+     * @return the node count
+     */
+    public int getNodeCount() {
+        return countNodes(root);
+    }
+
+    @Override
+    public void clear(boolean newDefaultValue) {
+        this.defaultValue = newDefaultValue;
+        root = leaf(newDefaultValue);
+        version++;
+    }
+
+    @Override
+    public Iterator<Boolean> iterator() {
+        return new QuadTreeMazeIterator();
+    }
+
+    // Iterator for traversing the maze in row-major order, one leaf run at a time
+    private class QuadTreeMazeIterator implements Iterator<Boolean> {
+        private int row;
+        private int col;
+        private int runLength; // cells left in the current run before another descent
+        private boolean runValue;
+
+        @Override
+        public boolean hasNext() {
+            return row < height;
+        }
+
+        @Override
+        public Boolean next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (runLength == 0) {
+                startRun();
+            }
+            runLength--;
+            col++;
+            if (col == width) {
+                col = 0;
+                row++;
+            }
+            return runValue;
+        }
+
+        // Find the leaf holding the current cell; its remaining width in this row is the run
+        private void startRun() {
+            Node node = root;
+            int leafCol = 0;
+            int half = size >>> 1;
+            int localRow = row;
+            while (node.children != null) {
+                int quadrant = 0;
+                if (localRow >= half) {
+                    localRow -= half;
+                    quadrant = 2;
+                }
+                if (col - leafCol >= half) {
+                    leafCol += half;
+                    quadrant++;
+                }
+                node = node.children[quadrant];
+                half >>>= 1;
+            }
+            int leafSize = half == 0 ? 1 : half << 1;
+            runLength = Math.min(leafCol + leafSize, width) - col;
+            runValue = node.value;
+        }
+    }
+
+    // Apply a rectangle update and bump the version if any cell changed
+    private void update(int row, int col, int rowCount, int colCount, boolean value) {
+        modified = false;
+        root = update(root, 0, 0, size, row, col, row + rowCount, col + colCount, value);
+        if (modified) {
+            version++;
+        }
+    }
+
+    // Set the cells of [top, bottom) x [left, right) inside the square at (nodeRow, nodeCol).
+    // The rectangle lies within the maze, so squares in the padding are never reached.
+    private Node update(Node node, int nodeRow, int nodeCol, int nodeSize, int top, int left,
+            int bottom, int right, boolean value) {
+        if (top >= nodeRow + nodeSize || bottom <= nodeRow
+                || left >= nodeCol + nodeSize || right <= nodeCol) {
+            return node;
+        }
+        if (node.children == null && node.value == value) {
+            return node;
+        }
+        if (top <= nodeRow && bottom >= Math.min(nodeRow + nodeSize, height)
+                && left <= nodeCol && right >= Math.min(nodeCol + nodeSize, width)) {
+            modified = true;
+            return leaf(value);
+        }
+        Node[] children = node.children;
+        if (children == null) {
+            Node same = leaf(node.value);
+            children = new Node[] {same, same, same, same};
+            node = new Node(children);
+        }
+        int half = nodeSize >>> 1;
+        for (int quadrant = 0; quadrant < 4; quadrant++) {
+            int childRow = nodeRow + (quadrant >> 1) * half;
+            int childCol = nodeCol + (quadrant & 1) * half;
+            children[quadrant] = update(children[quadrant], childRow, childCol, half,
+                    top, left, bottom, right, value);
+        }
+        // Merge if every child holding maze cells is the same leaf; the north-west child
+        // always holds some, and children wholly in the padding are ignored
+        Node first = children[0];
+        if (first.children != null) {
+            return node;
+        }
+        for (int quadrant = 1; quadrant < 4; quadrant++) {
+            boolean inMaze = nodeRow + (quadrant >> 1) * half < height
+                    && nodeCol + (quadrant & 1) * half < width;
+            if (inMaze && children[quadrant] != first) {
+                return node;
+            }
+        }
+        return first;
+    }
+
+    // Count open cells of [top, bottom) x [left, right) inside the square at (nodeRow, nodeCol)
+    private static long countOpen(Node node, int nodeRow, int nodeCol, int nodeSize, int top,
+            int left, int bottom, int right) {
+        int overlapTop = Math.max(top, nodeRow);
+        int overlapBottom = Math.min(bottom, nodeRow + nodeSize);
+        int overlapLeft = Math.max(left, nodeCol);
+        int overlapRight = Math.min(right, nodeCol + nodeSize);
+        if (overlapTop >= overlapBottom || overlapLeft >= overlapRight) {
+            return 0;
+        }
+        if (node.children == null) {
+            return node.value
+                    ? (long) (overlapBottom - overlapTop) * (overlapRight - overlapLeft) : 0;
+        }
+        int half = nodeSize >>> 1;
+        long count = 0;
+        for (int quadrant = 0; quadrant < 4; quadrant++) {
+            count += countOpen(node.children[quadrant], nodeRow + (quadrant >> 1) * half,
+                    nodeCol + (quadrant & 1) * half, half, top, left, bottom, right);
+        }
+        return count;
+    }
+
+    // Set the open bits of columns [left, right) of a row that crosses the square at nodeRow
+    private static void exportRow(Node node, int nodeRow, int nodeCol, int nodeSize, int row,
+            int left, int right, long[] words) {
+        if (left >= nodeCol + nodeSize || right <= nodeCol) {
+            return;
+        }
+        if (node.children == null) {
+            if (node.value) {
+                RowBits.setRange(words, Math.max(left, nodeCol) - left,
+                        Math.min(right, nodeCol + nodeSize) - left, true);
+            }
+            return;
+        }
+        int half = nodeSize >>> 1;
+        int quadrant = 0;
+        if (row >= nodeRow + half) {
+            nodeRow += half;
+            quadrant = 2;
+        }
+        exportRow(node.children[quadrant], nodeRow, nodeCol, half, row, left, right, words);
+        exportRow(node.children[quadrant + 1], nodeRow, nodeCol + half, half, row, left, right,
+                words);
+    }
+
+    private static int countNodes(Node node) {
+        if (node.children == null) {
+            return 1;
+        }
+        int count = 1;
+        for (Node child : node.children) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    private static Node leaf(boolean value) {
+        return value ? OPEN_LEAF : BLOCKED_LEAF;
+    }
+
+    // Validate that the provided coordinates are within maze bounds
+    private void checkBounds(int row, int col) {
+        if (row < 0 || row >= height || col < 0 || col >= width) {
+            throw new CellIndexOutOfBoundsException(row, col, width, height);
+        }
+    }
+
+    // Validate that a rectangle is non-empty and lies entirely within the maze
+    private void checkRegion(int row, int col, int rowCount, int colCount) {
+        if (rowCount <= 0 || colCount <= 0) {
+            throw new DimensionException(colCount, rowCount);
+        }
+        checkBounds(row, col);
+        checkBounds(row + rowCount - 1, col + colCount - 1);
+    }
+}
@@ -0,0 +1,201 @@
+package hw2;
+
+import exceptions.CellIndexOutOfBoundsException;
+
+/**
+ * Helpers for rows of cells packed 64 to a long.
+ * <p>
+ * Bit {@code i % 64} of word {@code i / 64} holds cell {@code i} of the run, set when the cell
+ * is open. Bits past the end of the run in the last word are always zero.
+ */
+final class RowBits {
+
+    private RowBits() {
+    }
+
+    /**
+     * Get the number of words needed to hold a run of cells.
+     *
+     * @param length the number of cells
+     * @return the number of longs needed
+     */
+    static int wordCount(int length) {
+        return (length + 63) >>> 6;
+    }
+
+    /**
+     * Return dest if it can hold the run, otherwise a new array that can.
+     *
+     * @param dest   the caller-supplied array, possibly null
+     * @param length the number of cells
+     * @return an array of at least {@link #wordCount(int)} words
+     */
+    static long[] ensureCapacity(long[] dest, int length) {
+        int words = wordCount(length);
+        return dest != null && dest.length >= words ? dest : new long[words];
+    }
+
+    /**
+     * Set the first length bits to the given value and zero the rest of the last word.
+     *
+     * @param words  the packed run
+     * @param length the number of cells
+     * @param value  the value for every cell
+     */
+    static void fill(long[] words, int length, boolean value) {
+        int full = length >>> 6;
+        long fillWord = value ? -1L : 0L;
+        for (int i = 0; i < full; i++) {
+            words[i] = fillWord;
+        }
+        if ((length & 63) != 0) {
+            words[full] = fillWord & tailMask(length);
+        }
+    }
+
+    /**
+     * Check whether a cell is open.
+     *
+     * @param words the packed run
+     * @param index the cell within the run
+     * @return true if the bit is set
+     */
+    static boolean get(long[] words, int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Set or clear the bits in [from, to).
+     *
+     * @param words the packed run
+     * @param from  the first cell, inclusive
+     * @param to    the last cell, exclusive
+     * @param value true to set the bits, false to clear them
+     */
+    static void setRange(long[] words, int from, int to, boolean value) {
+        if (from >= to) {
+            return;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        for (int i = first; i <= last; i++) {
+            long mask = -1L;
+            if (i == first) {
+                mask &= firstMask;
+            }
+            if (i == last) {
+                mask &= lastMask;
+            }
+            words[i] = value ? words[i] | mask : words[i] & ~mask;
+        }
+    }
+
+    /**
+     * Count the set bits of the first length cells.
+     *
+     * @param words  the packed run
+     * @param length the number of cells
+     * @return the number of open cells
+     */
+    static int count(long[] words, int length) {
+        int count = 0;
+        int wordCount = wordCount(length);
+        for (int i = 0; i < wordCount; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Pack a run of a boolean array.
+     *
+     * @param cells  the source cells
+     * @param offset the index of the first cell to pack
+     * @param length the number of cells
+     * @param dest   the packed destination
+     */
+    static void pack(boolean[] cells, int offset, int length, long[] dest) {
+        int wordCount = wordCount(length);
+        for (int w = 0; w < wordCount; w++) {
+            int start = offset + (w << 6);
+            int end = start + Math.min(64, length - (w << 6));
+            long bits = 0;
+            for (int i = start; i < end; i++) {
+                if (cells[i]) {
+                    bits |= 1L << (i - start);
+                }
+            }
+            dest[w] = bits;
+        }
+    }
+
+    /**
+     * Unpack a run into a boolean array.
+     *
+     * @param words  the packed source
+     * @param length the number of cells
+     * @param cells  the destination cells
+     * @param offset the index of the first cell to write
+     * @return true if any destination cell changed
+     */
+    static boolean unpack(long[] words, int length, boolean[] cells, int offset) {
+        boolean changed = false;
+        for (int i = 0; i < length; i++) {
+            boolean value = get(words, i);
+            if (cells[offset + i] != value) {
+                cells[offset + i] = value;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Find the end of the run of equal bits starting at a cell.
+     *
+     * @param words  the packed run
+     * @param from   the first cell of the run of equal bits
+     * @param length the number of cells
+     * @return the index of the first cell after from with a different value, or length
+     */
+    static int runEnd(long[] words, int from, int length) {
+        long flip = get(words, from) ? -1L : 0L;
+        int w = from >>> 6;
+        long differing = (words[w] ^ flip) & (-1L << from);
+        int wordCount = wordCount(length);
+        while (differing == 0) {
+            if (++w == wordCount) {
+                return length;
+            }
+            differing = words[w] ^ flip;
+        }
+        return Math.min((w << 6) + Long.numberOfTrailingZeros(differing), length);
+    }
+
+    /**
+     * Validate that a run of cells lies within one row of the maze.
+     *
+     * @param maze    the maze
+     * @param row     the row of the run
+     * @param fromCol the first column of the run
+     * @param length  the number of cells, which must be positive
+     * @throws CellIndexOutOfBoundsException if the run extends outside the maze
+     */
+    static void checkRun(Maze maze, int row, int fromCol, int length) {
+        int width = maze.getWidth();
+        int height = maze.getHeight();
+        if (row < 0 || row >= height || fromCol < 0 || fromCol >= width) {
+            throw new CellIndexOutOfBoundsException(row, fromCol, width, height);
+        }
+        if (length <= 0 || length > width - fromCol) {
+            throw new CellIndexOutOfBoundsException(row, fromCol + length - 1, width, height);
+        }
+    }
+
+    // Mask of the valid low bits in the last word of a run
+    private static long tailMask(int length) {
+        return -1L >>> -length;
+    }
+}
@@ -7,6 +7,11 @@ import java.util.NoSuchElementException;
 
 /**
  * Sparse maze implementation using a linked list to store non-default cell values.
+ * <p>
+ * Row exports and imports remember the node where they stopped, so that a row-by-row scan
+ * resumes there instead of walking from the head each time. Unlike the other reads,
+ * {@link #exportRow(int, int, int, long[])} therefore updates shared state, and concurrent
+ * exportRow calls on one maze must be synchronized by the caller.
  */
 public class SparseMaze implements Maze {
   protected Node head; // Sentinel node
@@ -16,6 +21,12 @@ public class SparseMaze implements Maze {
   private final int width;
   private final int height;
   private boolean defaultValue;
+  private long version;
+  private MazeMetrics metrics; // null unless attached by an InstrumentedMaze
+  // Last node reached by a row export or import, so row-by-row scans resume instead of
+  // restarting at head
+  private Node scanCursor;
+  private long scanCursorVersion;
 
   /**
    * Node in the sparse linked list storing non-default cell values.
@@ -88,7 +99,11 @@ public class SparseMaze implements Maze {
   @Override
   public boolean isOpen(int row, int col) {
     checkBounds(row, col);
-    int index = row * width + col;
+    return isOpenUnchecked(row * width + col);
+  }
+
+  @Override
+  public boolean isOpenUnchecked(int index) {
     Node cur = findNodeAtIndex(index);
 
     if (cur != null && cur.linearIndex == index) {
@@ -100,7 +115,11 @@ public class SparseMaze implements Maze {
   @Override
   public void setCell(int row, int col, boolean isOpen) {
     checkBounds(row, col);
-    int index = row * width + col;
+    setCellUnchecked(row * width + col, isOpen);
+  }
+
+  @Override
+  public void setCellUnchecked(int index, boolean isOpen) {
     Node cur = findNodeAtIndex(index);
 
     if (cur != null && cur.linearIndex == index) {
@@ -118,29 +137,47 @@ public class SparseMaze implements Maze {
 
   private void setCellOpen(Node cur) {
     Node prev = head;
+    int steps = 0;
     while (prev.next != cur) {
       prev = prev.next;
+      steps++;
+    }
+    if (metrics != null) {
+      metrics.addNodesTraversed(steps);
     }
     prev.next = cur.next;
     storedCellCount--;
+    version++;
+    scanCursor = null; // stale now, and may be the removed node
   }
 
   private void setCellBlocked(Node cur, boolean isOpen, int index) {
     Node prev = head;
+    int steps = 0;
     while (prev.next != cur) {
       prev = prev.next;
+      steps++;
+    }
+    if (metrics != null) {
+      metrics.addNodesTraversed(steps);
     }
 
     Node newNode = new Node(isOpen, index);
     prev.next = newNode;
     newNode.next = cur;
     storedCellCount++;
+    version++;
   }
 
   private Node findNodeAtIndex(int index) {
     Node cur = head.next;
+    int steps = 0;
     while (cur != null && cur.linearIndex < index) {
       cur = cur.next;
+      steps++;
+    }
+    if (metrics != null) {
+      metrics.addNodesTraversed(steps);
     }
     return cur;
   }
@@ -150,6 +187,116 @@ public class SparseMaze implements Maze {
     this.defaultValue = newDefaultValue;
     head.next = null;
     storedCellCount = 0;
+    version++;
+    scanCursor = null; // release the discarded nodes
+  }
+
+  @Override
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Get the number of cells currently stored because they differ from the default value.
+   *
+   * @return the stored cell count
+   */
+  public int getStoredCellCount() {
+    return storedCellCount;
+  }
+
+  // Attach the metrics that node walks report into, replacing any attached before
+  void setMetrics(MazeMetrics newMetrics) {
+    this.metrics = newMetrics;
+  }
+
+  // Detach the metrics only if they are still the attached ones, so a wrapper that lost them
+  // to a newer wrapper cannot detach the newer wrapper's metrics
+  void detachMetrics(MazeMetrics oldMetrics) {
+    if (metrics == oldMetrics) {
+      metrics = null;
+    }
+  }
+
+  @Override
+  public void importRow(int row, int fromCol, int length, long[] words) {
+    RowBits.checkRun(this, row, fromCol, length);
+    int start = row * width + fromCol;
+    Node prev = head;
+    if (scanCursor != null && scanCursorVersion == version && scanCursor.linearIndex < start) {
+      prev = scanCursor;
+    }
+    while (prev.next != null && prev.next.linearIndex < start) {
+      prev = prev.next;
+    }
+
+    // Rebuild the run in place, keeping nodes for cells that stay stored
+    Node old = prev.next;
+    Node tail = prev;
+    boolean changed = false;
+    for (int i = 0; i < length; i++) {
+      boolean value = RowBits.get(words, i);
+      if (value == defaultValue) {
+        continue;
+      }
+      int index = start + i;
+      while (old != null && old.linearIndex < index) {
+        old = old.next;
+        storedCellCount--;
+        changed = true;
+      }
+      if (old != null && old.linearIndex == index) {
+        tail.next = old;
+        tail = old;
+        old = old.next;
+      } else {
+        Node newNode = new Node(value, index);
+        tail.next = newNode;
+        tail = newNode;
+        storedCellCount++;
+        changed = true;
+      }
+    }
+    while (old != null && old.linearIndex < start + length) {
+      old = old.next;
+      storedCellCount--;
+      changed = true;
+    }
+    tail.next = old;
+
+    if (changed) {
+      version++;
+    }
+    scanCursor = tail;
+    scanCursorVersion = version;
+  }
+
+  @Override
+  public long[] exportRow(int row, int fromCol, int length, long[] dest) {
+    RowBits.checkRun(this, row, fromCol, length);
+    long[] words = RowBits.ensureCapacity(dest, length);
+    RowBits.fill(words, length, defaultValue);
+    int start = row * width + fromCol;
+    Node cur;
+    if (scanCursor != null && scanCursorVersion == version
+        && scanCursor.linearIndex < start) {
+      cur = scanCursor;
+      while (cur != null && cur.linearIndex < start) {
+        scanCursor = cur;
+        cur = cur.next;
+      }
+    } else {
+      scanCursor = null;
+      cur = findNodeAtIndex(start);
+    }
+    while (cur != null && cur.linearIndex < start + length) {
+      int bit = cur.linearIndex - start;
+      RowBits.setRange(words, bit, bit + 1, cur.value);
+      scanCursor = cur;
+      cur = cur.next;
+    }
+    scanCursorVersion = version;
+    return words;
   }
 
   @Override
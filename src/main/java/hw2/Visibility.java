@@ -0,0 +1,300 @@
+package hw2;
+
+import java.util.Arrays;
+
+import exceptions.CellIndexOutOfBoundsException;
+
+/**
+ * Line-of-sight and field-of-view queries over a maze.
+ * <p>
+ * Queries run against a bit-packed copy of the maze, so results always reflect the current
+ * cells. The full copy costs one {@link Maze#exportRow(int, int, int, long[]) row export} per
+ * row and is taken once, at construction. After the maze's {@link Maze#getVersion() version}
+ * changes, each row is exported again only when a query first reads it: a line of sight
+ * reads the rows between its endpoints, and a field of view the rows within its radius. A
+ * tick of queries against a changed maze therefore costs one export per row those queries
+ * reach, not one per row of the maze. Blocked cells stop sight but are themselves visible.
+ * Instances are not thread-safe.
+ */
+public class Visibility {
+    // Octant transforms for shadowcasting: {colFromDx, colFromDy, rowFromDx, rowFromDy}
+    private static final int[][] OCTANTS = {
+        {1, 0, 0, -1}, {0, 1, -1, 0}, {0, -1, -1, 0}, {-1, 0, 0, -1},
+        {-1, 0, 0, 1}, {0, -1, 1, 0}, {0, 1, 1, 0}, {1, 0, 0, 1}
+    };
+
+    private final Maze maze;
+    private final PackedGrid grid;
+    private final long[] rowVersions; // maze version each row of grid was last copied at
+    private long[] rowBuffer;
+    private long version; // maze version seen by the current query
+
+    /**
+     * Constructs a Visibility answering queries about the given maze.
+     *
+     * @param maze the maze to query
+     */
+    public Visibility(Maze maze) {
+        this.maze = maze;
+        this.grid = new PackedGrid(maze);
+        this.version = grid.version;
+        this.rowVersions = new long[grid.height];
+        Arrays.fill(rowVersions, version);
+    }
+
+    /**
+     * Check whether two cells can see each other.
+     * <p>
+     * The line between the cells is traced with Bresenham's algorithm, always from the cell
+     * that comes first in row-major order, so the result is symmetric. Sight is clear when
+     * every cell strictly between the two endpoints is open; the endpoints themselves may be
+     * blocked. Horizontal lines, and the horizontal runs of shallow lines, are tested a whole
+     * word of cells at a time.
+     *
+     * @param r0 the row of the first cell (0-indexed)
+     * @param c0 the column of the first cell (0-indexed)
+     * @param r1 the row of the second cell (0-indexed)
+     * @param c1 the column of the second cell (0-indexed)
+     * @return true if nothing blocks the line between the cells
+     * @throws CellIndexOutOfBoundsException if either cell is outside the maze
+     */
+    public boolean hasLineOfSight(int r0, int c0, int r1, int c1) {
+        refresh();
+        grid.checkBounds(r0, c0);
+        grid.checkBounds(r1, c1);
+        copyRows(Math.min(r0, r1), Math.max(r0, r1));
+        return trace(r0, c0, r1, c1);
+    }
+
+    /**
+     * Check line of sight for many pairs of cells at once.
+     * The maze is checked for changes once for the whole batch.
+     *
+     * @param rays four ints per pair of cells: r0, c0, r1, c1, as in
+     *             {@link #hasLineOfSight(int, int, int, int)}
+     * @return whether each pair can see each other, in order
+     * @throws IllegalArgumentException      if the array length is not a multiple of four
+     * @throws CellIndexOutOfBoundsException if any cell is outside the maze
+     */
+    public boolean[] hasLineOfSight(int[] rays) {
+        if (rays.length % 4 != 0) {
+            throw new IllegalArgumentException(
+                    "Rays need four coordinates each, got " + rays.length + " values");
+        }
+        refresh();
+        for (int i = 0; i < rays.length; i += 2) {
+            grid.checkBounds(rays[i], rays[i + 1]);
+        }
+        boolean[] results = new boolean[rays.length / 4];
+        for (int i = 0; i < results.length; i++) {
+            int base = i * 4;
+            copyRows(Math.min(rays[base], rays[base + 2]), Math.max(rays[base], rays[base + 2]));
+            results[i] = trace(rays[base], rays[base + 1], rays[base + 2], rays[base + 3]);
+        }
+        return results;
+    }
+
+    /**
+     * Compute the cells visible from a cell within a radius using recursive shadowcasting.
+     * <p>
+     * The result is a packed bitmap in the layout of {@link Maze#exportRow}: the cells of
+     * row {@code r} start at word {@code r * ((width + 63) / 64)}, one bit per cell. The origin
+     * is always visible, as are blocked cells on the edge of the visible area.
+     *
+     * @param row    the row of the viewer (0-indexed)
+     * @param col    the column of the viewer (0-indexed)
+     * @param radius the maximum distance seen, in cells
+     * @return the packed bitmap of visible cells
+     * @throws CellIndexOutOfBoundsException if the viewer is outside the maze
+     * @throws IllegalArgumentException      if radius is negative
+     * @see #isVisible(long[], int, int)
+     */
+    public long[] fieldOfView(int row, int col, int radius) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius must not be negative: " + radius);
+        }
+        refresh();
+        grid.checkBounds(row, col);
+        int reach = Math.min(radius, grid.height);
+        copyRows(Math.max(0, row - reach), Math.min(grid.height - 1, row + reach));
+        long[] visible = new long[grid.bits.length];
+        mark(visible, row, col);
+        for (int[] octant : OCTANTS) {
+            castLight(visible, row, col, radius, 1, 1.0, 0.0, octant);
+        }
+        return visible;
+    }
+
+    /**
+     * Check whether a cell is set in a bitmap returned by {@link #fieldOfView(int, int, int)}.
+     *
+     * @param field the field-of-view bitmap
+     * @param row   the row coordinate (0-indexed)
+     * @param col   the column coordinate (0-indexed)
+     * @return true if the cell is visible
+     * @throws CellIndexOutOfBoundsException if coordinates are invalid
+     */
+    public boolean isVisible(long[] field, int row, int col) {
+        grid.checkBounds(row, col);
+        return (field[row * grid.wordsPerRow + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    // Note the maze version the query must see; stale rows are recopied as they are reached
+    private void refresh() {
+        version = maze.getVersion();
+    }
+
+    // Recopy the rows in [from, to] that were copied before the maze last changed
+    private void copyRows(int from, int to) {
+        for (int row = from; row <= to; row++) {
+            if (rowVersions[row] != version) {
+                rowBuffer = grid.copyRow(maze, row, rowBuffer);
+                rowVersions[row] = version;
+            }
+        }
+    }
+
+    // Trace in a canonical direction so that swapping the endpoints gives the same line
+    private boolean trace(int r0, int c0, int r1, int c1) {
+        if (r0 > r1 || (r0 == r1 && c0 > c1)) {
+            return trace(r1, c1, r0, c0);
+        }
+        if (r0 == r1) {
+            return grid.allOpen(r0, c0 + 1, c1);
+        }
+        if (Math.abs(c1 - c0) >= r1 - r0) {
+            return traceShallow(r0, c0, r1, c1);
+        }
+        return traceSteep(r0, c0, r1, c1);
+    }
+
+    // Bresenham for lines with more columns than rows, testing each row's run of cells at once
+    private boolean traceShallow(int r0, int c0, int r1, int c1) {
+        int dc = Math.abs(c1 - c0);
+        int dr = r1 - r0;
+        int step = c1 > c0 ? 1 : -1;
+        int error = 2 * dr - dc;
+        int row = r0;
+        int col = c0;
+        int runStart = 0;
+        int runLength = 0;
+        for (int i = 0; i <= dc; i++) {
+            if (i > 0 && i < dc) {
+                if (runLength == 0) {
+                    runStart = col;
+                }
+                runLength++;
+            }
+            if (error > 0) {
+                if (!runOpen(row, runStart, runLength, step)) {
+                    return false;
+                }
+                runLength = 0;
+                row++;
+                error -= 2 * dc;
+            }
+            error += 2 * dr;
+            col += step;
+        }
+        return runOpen(row, runStart, runLength, step);
+    }
+
+    // Bresenham for lines with more rows than columns, testing one cell per row
+    private boolean traceSteep(int r0, int c0, int r1, int c1) {
+        int dr = r1 - r0;
+        int dc = Math.abs(c1 - c0);
+        int step = c1 > c0 ? 1 : -1;
+        int error = 2 * dc - dr;
+        int col = c0;
+        for (int row = r0; row < r1; row++) {
+            if (row > r0 && !grid.isOpen(row, col)) {
+                return false;
+            }
+            if (error > 0) {
+                col += step;
+                error -= 2 * dr;
+            }
+            error += 2 * dc;
+        }
+        return true;
+    }
+
+    // Test a run of cells in one row that was traced in the given column direction
+    private boolean runOpen(int row, int runStart, int runLength, int step) {
+        if (runLength == 0) {
+            return true;
+        }
+        int from = step > 0 ? runStart : runStart - runLength + 1;
+        return grid.allOpen(row, from, from + runLength);
+    }
+
+    // Recursive shadowcasting of one octant, scanning rows of increasing distance
+    private void castLight(long[] visible, int originRow, int originCol, int radius,
+            int distance, double startSlope, double endSlope, int[] octant) {
+        if (startSlope < endSlope) {
+            return;
+        }
+        // Rows further out than the larger maze dimension hold no cells, so stop scanning there
+        int lastRow = Math.min(radius, Math.max(grid.width, grid.height));
+        long radiusSquared = (long) radius * radius;
+        // Within a row dx moves along one axis of the maze; cells with dx below firstInside
+        // lie beyond the maze edge on that axis
+        boolean dxMovesCol = octant[0] != 0;
+        int firstInside = dxMovesCol
+                ? (octant[0] > 0 ? -originCol : originCol - (grid.width - 1))
+                : (octant[2] > 0 ? -originRow : originRow - (grid.height - 1));
+        double nextStart = startSlope;
+        for (int j = distance; j <= lastRow; j++) {
+            int dy = -j;
+            int rowLine = dxMovesCol ? originRow + dy * octant[3] : originCol + dy * octant[1];
+            if (rowLine < 0 || rowLine >= (dxMovesCol ? grid.height : grid.width)) {
+                break; // this row and every later one lie beyond the maze edge
+            }
+            boolean blocked = false;
+            // Start at the first cell not wholly past startSlope, less one for rounding
+            int firstDx = Math.max(-j, (int) Math.ceil(-startSlope * (j + 0.5) - 0.5) - 1);
+            for (int dx = firstDx; dx <= 0; dx++) {
+                int col = originCol + dx * octant[0] + dy * octant[1];
+                int row = originRow + dx * octant[2] + dy * octant[3];
+                double leftSlope = (dx - 0.5) / (dy + 0.5);
+                double rightSlope = (dx + 0.5) / (dy - 0.5);
+                if (startSlope < rightSlope) {
+                    continue;
+                }
+                if (endSlope > leftSlope) {
+                    break;
+                }
+                boolean inside = row >= 0 && row < grid.height && col >= 0 && col < grid.width;
+                if (inside && (long) dx * dx + (long) dy * dy <= radiusSquared) {
+                    mark(visible, row, col);
+                }
+                boolean opaque = !inside || !grid.isOpen(row, col);
+                if (blocked) {
+                    if (opaque) {
+                        nextStart = rightSlope;
+                    } else {
+                        blocked = false;
+                        startSlope = nextStart;
+                    }
+                } else if (opaque && j < lastRow) {
+                    blocked = true;
+                    castLight(visible, originRow, originCol, radius, j + 1, startSlope,
+                            leftSlope, octant);
+                    nextStart = rightSlope;
+                }
+                // Cells beyond the edge are all opaque, so after the first of them only the
+                // last one changes the state: jump to it
+                if (dx < firstInside - 1) {
+                    dx = firstInside - 2;
+                }
+            }
+            if (blocked) {
+                break;
+            }
+        }
+    }
+
+    private void mark(long[] visible, int row, int col) {
+        visible[row * grid.wordsPerRow + (col >>> 6)] |= 1L << col;
+    }
+}
@@ -0,0 +1,350 @@
+package hw2;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import exceptions.CellIndexOutOfBoundsException;
+import exceptions.DimensionException;
+
+/**
+ * Maze implementation storing cells as packed bits in off-heap memory.
+ * <p>
+ * Cells live in a {@link MemorySegment} owned by an {@link Arena}, so the garbage collector
+ * never scans or copies the grid and a multi-gigabyte maze adds nothing to heap size or pause
+ * times. Each row occupies {@code (width + 63) / 64} little-endian longs, one bit per cell in
+ * the layout of {@link Maze#exportRow(int, int, int, long[])}, with the bits past the last
+ * column of each row kept zero, so the same bytes can be memory-mapped from a file with
+ * {@link #map(Path, int, int, boolean, boolean)}.
+ * <p>
+ * The memory is released by {@link #close()}, after which every operation throws
+ * {@link IllegalStateException}; use the maze in a try-with-resources statement. A maze
+ * created with a confined arena may only be used by the thread that created it. A maze created
+ * with a shared arena may be read by any number of threads at once, but writes must not run
+ * concurrently with other reads or writes.
+ * <p>
+ * The {@code java.lang.foreign} API is final from Java 22, so this class lives in the separate
+ * {@code src/offheap} source set and the other backends keep building on Java 17.
+ */
+public class OffHeapMaze implements Maze, AutoCloseable {
+    // Fixed byte order so mapped files read the same on every platform
+    private static final ValueLayout.OfLong WORD =
+            ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Arena arena;
+    private final MemorySegment cells;
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private boolean defaultValue;
+    private long version;
+
+    /**
+     * Constructs an OffHeapMaze with specified dimensions and default cell value.
+     *
+     * @param width        the width of the maze
+     * @param height       the height of the maze
+     * @param defaultValue the default value for cells in the maze
+     *                     true for open, false for blocked
+     * @param shared       true to allow reads from any thread, false to confine the maze to
+     *                     the creating thread
+     * @throws DimensionException if width or height are non-positive
+     */
+    public OffHeapMaze(int width, int height, boolean defaultValue, boolean shared) {
+        this(width, height, defaultValue, shared ? Arena.ofShared() : Arena.ofConfined(), null);
+        fill(defaultValue);
+    }
+
+    /**
+     * Constructs an OffHeapMaze confined to the creating thread.
+     *
+     * @param width        the width of the maze
+     * @param height       the height of the maze
+     * @param defaultValue the default value for cells in the maze
+     *                     true for open, false for blocked
+     * @throws DimensionException if width or height are non-positive
+     */
+    public OffHeapMaze(int width, int height, boolean defaultValue) {
+        this(width, height, defaultValue, false);
+    }
+
+    /**
+     * Constructs an OffHeapMaze confined to the creating thread with default cell value of
+     * true (open).
+     *
+     * @param width  the width of the maze
+     * @param height the height of the maze
+     * @throws DimensionException if width or height are non-positive
+     */
+    public OffHeapMaze(int width, int height) {
+        this(width, height, true);
+    }
+
+    // Wrap the given segment, or allocate one from the arena when segment is null
+    private OffHeapMaze(int width, int height, boolean defaultValue, Arena arena,
+            MemorySegment segment) {
+        if (width <= 0 || height <= 0) {
+            arena.close();
+            throw new DimensionException(width, height);
+        }
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = RowBits.wordCount(width);
+        this.defaultValue = defaultValue;
+        this.arena = arena;
+        this.cells = segment != null ? segment
+                : arena.allocate(byteSize(width, height), WORD.byteAlignment());
+    }
+
+    /**
+     * Map a maze onto a file, creating or extending the file as needed.
+     * <p>
+     * Existing file contents are used as the cells, so a maze written through one mapping is
+     * read back by the next. Bytes added when the file is created or extended are zero, which
+     * makes those cells blocked. Changes are written back to the file by the operating system,
+     * or immediately by {@link #force()}.
+     *
+     * @param file         the file holding the cells
+     * @param width        the width of the maze
+     * @param height       the height of the maze
+     * @param defaultValue the value reported by {@link #getDefaultValue()} and used by clear
+     * @param shared       true to allow reads from any thread, false to confine the maze to
+     *                     the calling thread
+     * @return the mapped maze
+     * @throws IOException        if the file cannot be opened or mapped
+     * @throws DimensionException if width or height are non-positive
+     */
+    public static OffHeapMaze map(Path file, int width, int height, boolean defaultValue,
+            boolean shared) throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new DimensionException(width, height);
+        }
+        Arena arena = shared ? Arena.ofShared() : Arena.ofConfined();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    byteSize(width, height), arena);
+            return new OffHeapMaze(width, height, defaultValue, arena, segment);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the number of bytes the cells of a maze occupy, which is also the size of a file
+     * created by {@link #map(Path, int, int, boolean, boolean)}.
+     *
+     * @param width  the width of the maze
+     * @param height the height of the maze
+     * @return the size of the cell storage in bytes
+     */
+    public static long byteSize(int width, int height) {
+        return (long) RowBits.wordCount(width) * height * Long.BYTES;
+    }
+
+    /**
+     * Write changes to a memory-mapped maze back to its file. Does nothing for a maze that is
+     * not mapped.
+     */
+    public void force() {
+        if (cells.isMapped()) {
+            cells.force();
+        }
+    }
+
+    /**
+     * Release the off-heap memory, or unmap the file, holding the cells.
+     *
+     * @throws IllegalStateException if the maze is already closed or, for a confined maze,
+     *                               if called from another thread
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean getDefaultValue() {
+        return defaultValue;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean isOpen(int row, int col) {
+        checkBounds(row, col);
+        return (word(row, col >>> 6) & (1L << col)) != 0;
+    }
+
+    @Override
+    public boolean isOpenUnchecked(int linearIndex) {
+        int row = linearIndex / width;
+        int col = linearIndex - row * width;
+        return (word(row, col >>> 6) & (1L << col)) != 0;
+    }
+
+    @Override
+    public void setCell(int row, int col, boolean isOpen) {
+        checkBounds(row, col);
+        writeBits(row, col, isOpen ? 1L : 0L, 1);
+    }
+
+    @Override
+    public void setCellUnchecked(int linearIndex, boolean isOpen) {
+        int row = linearIndex / width;
+        writeBits(row, linearIndex - row * width, isOpen ? 1L : 0L, 1);
+    }
+
+    @Override
+    public void clear(boolean newDefaultValue) {
+        this.defaultValue = newDefaultValue;
+        fill(newDefaultValue);
+        version++;
+    }
+
+    // Set every cell to a value, keeping the padding bits of each row's last word zero
+    private void fill(boolean value) {
+        cells.fill(value ? (byte) -1 : (byte) 0);
+        if (value && (width & 63) != 0) {
+            long tail = -1L >>> -width;
+            for (int row = 0; row < height; row++) {
+                cells.set(WORD, offset(row, wordsPerRow - 1), tail);
+            }
+        }
+    }
+
+    @Override
+    public long[] exportRow(int row, int fromCol, int length, long[] dest) {
+        RowBits.checkRun(this, row, fromCol, length);
+        long[] words = RowBits.ensureCapacity(dest, length);
+        int wordCount = RowBits.wordCount(length);
+        if ((fromCol & 63) == 0) {
+            MemorySegment.copy(cells, WORD, offset(row, fromCol >>> 6), words, 0, wordCount);
+        } else {
+            for (int i = 0; i < wordCount; i++) {
+                words[i] = readBits(row, fromCol + (i << 6));
+            }
+        }
+        if ((length & 63) != 0) {
+            words[wordCount - 1] &= -1L >>> -length;
+        }
+        return words;
+    }
+
+    @Override
+    public void importRow(int row, int fromCol, int length, long[] words) {
+        RowBits.checkRun(this, row, fromCol, length);
+        for (int i = 0; i < RowBits.wordCount(length); i++) {
+            writeBits(row, fromCol + (i << 6), words[i], Math.min(64, length - (i << 6)));
+        }
+    }
+
+    @Override
+    public Iterator<Boolean> iterator() {
+        return new OffHeapMazeIterator();
+    }
+
+    // Iterator for traversing the maze in row-major order, loading each word once
+    private class OffHeapMazeIterator implements Iterator<Boolean> {
+        private int row;
+        private int col;
+        private long current;
+
+        @Override
+        public boolean hasNext() {
+            return row < height;
+        }
+
+        @Override
+        public Boolean next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if ((col & 63) == 0) {
+                current = word(row, col >>> 6);
+            }
+            boolean value = (current & (1L << col)) != 0;
+            col++;
+            if (col == width) {
+                col = 0;
+                row++;
+            }
+            return value;
+        }
+    }
+
+    // Read up to 64 cells starting at a column, which need not be word-aligned
+    private long readBits(int row, int col) {
+        int w = col >>> 6;
+        int shift = col & 63;
+        long bits = word(row, w) >>> shift;
+        if (shift != 0 && w + 1 < wordsPerRow) {
+            bits |= word(row, w + 1) << (64 - shift);
+        }
+        return bits;
+    }
+
+    // Overwrite count cells starting at a column with the low bits of value
+    private void writeBits(int row, int col, long value, int count) {
+        long mask = count == 64 ? -1L : (1L << count) - 1;
+        value &= mask;
+        int w = col >>> 6;
+        int shift = col & 63;
+        boolean changed = writeMasked(row, w, value << shift, mask << shift);
+        if (shift != 0 && shift + count > 64) {
+            changed |= writeMasked(row, w + 1, value >>> (64 - shift), mask >>> (64 - shift));
+        }
+        if (changed) {
+            version++;
+        }
+    }
+
+    // Replace the masked bits of one word and report whether the word changed
+    private boolean writeMasked(int row, int w, long bits, long mask) {
+        long offset = offset(row, w);
+        long old = cells.get(WORD, offset);
+        long updated = (old & ~mask) | bits;
+        if (updated == old) {
+            return false;
+        }
+        cells.set(WORD, offset, updated);
+        return true;
+    }
+
+    private long word(int row, int w) {
+        return cells.get(WORD, offset(row, w));
+    }
+
+    // Byte offset of word w of a row
+    private long offset(int row, int w) {
+        return ((long) row * wordsPerRow + w) * Long.BYTES;
+    }
+
+    // Validate that the provided coordinates are within maze bounds
+    private void checkBounds(int row, int col) {
+        if (row < 0 || row >= height || col < 0 || col >= width) {
+            throw new CellIndexOutOfBoundsException(row, col, width, height);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package hw2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapMazeTest extends MazeTest {
+    private final List<OffHeapMaze> created = new ArrayList<>();
+
+    @Override
+    public Maze createMaze(int width, int height, boolean defaultValue) {
+        OffHeapMaze offHeap = new OffHeapMaze(width, height, defaultValue);
+        created.add(offHeap);
+        return offHeap;
+    }
+
+    @AfterEach
+    public void closeMazes() {
+        for (OffHeapMaze offHeap : created) {
+            offHeap.close();
+        }
+    }
+
+    @Test
+    public void testClosedMazeRejectsAccess() {
+        OffHeapMaze offHeap = new OffHeapMaze(10, 10, true);
+        offHeap.setCell(1, 1, false);
+        assertFalse(offHeap.isOpen(1, 1));
+        offHeap.close();
+        assertThrows(IllegalStateException.class, () -> offHeap.isOpen(1, 1));
+        assertThrows(IllegalStateException.class, () -> offHeap.setCell(1, 1, true));
+        assertThrows(IllegalStateException.class, offHeap::close);
+    }
+
+    @Test
+    public void testConfinedMazeRejectsOtherThreads() throws Exception {
+        try (OffHeapMaze offHeap = new OffHeapMaze(10, 10, true, false)) {
+            Thread reader = new Thread(() -> offHeap.isOpen(0, 0));
+            List<Throwable> failures = new ArrayList<>();
+            reader.setUncaughtExceptionHandler((t, e) -> failures.add(e));
+            reader.start();
+            reader.join();
+            assertEquals(1, failures.size());
+            assertTrue(failures.get(0) instanceof WrongThreadException);
+        }
+    }
+
+    @Test
+    public void testSharedMazeAllowsConcurrentReaders() throws Exception {
+        int width = 200;
+        int height = 150;
+        Maze expected = new Dense1DMaze(width, height, true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (OffHeapMaze offHeap = new OffHeapMaze(width, height, true, true)) {
+            Random random = new Random(7);
+            for (int i = 0; i < 5000; i++) {
+                int row = random.nextInt(height);
+                int col = random.nextInt(width);
+                offHeap.setCell(row, col, false);
+                expected.setCell(row, col, false);
+            }
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> MazeStats.equalsContent(expected, offHeap)));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testUnalignedRowsMatchDenseMaze() {
+        int width = 150;
+        int height = 3;
+        try (OffHeapMaze offHeap = new OffHeapMaze(width, height, false)) {
+            Maze expected = new Dense1DMaze(width, height, false);
+            Random random = new Random(11);
+            long[] words = new long[3];
+            for (int i = 0; i < 500; i++) {
+                int row = random.nextInt(height);
+                int fromCol = random.nextInt(width);
+                int length = 1 + random.nextInt(width - fromCol);
+                for (int w = 0; w < words.length; w++) {
+                    words[w] = random.nextLong();
+                }
+                offHeap.importRow(row, fromCol, length, words);
+                expected.importRow(row, fromCol, length, words);
+                fromCol = random.nextInt(width);
+                length = 1 + random.nextInt(width - fromCol);
+                assertArrayEquals(expected.exportRow(row, fromCol, length, null),
+                        offHeap.exportRow(row, fromCol, length, null));
+            }
+            assertTrue(MazeStats.equalsContent(expected, offHeap));
+        }
+    }
+
+    @Test
+    public void testMappedMazePersistsAcrossMappings() throws IOException {
+        Path file = Files.createTempFile("maze", ".bin");
+        try (OffHeapMaze mapped = OffHeapMaze.map(file, 70, 5, true, false)) {
+            assertFalse(mapped.isOpen(4, 69));
+            mapped.clear(true);
+            mapped.setCell(2, 65, false);
+            mapped.force();
+        }
+        assertEquals(OffHeapMaze.byteSize(70, 5), Files.size(file));
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        for (int row = 0; row < 5; row++) {
+            long expected = row == 2 ? 0x3FL & ~(1L << 1) : 0x3FL;
+            assertEquals(-1L, bytes.getLong(row * 16));
+            assertEquals(expected, bytes.getLong(row * 16 + 8), "row " + row);
+        }
+        try (OffHeapMaze mapped = OffHeapMaze.map(file, 70, 5, true, true)) {
+            assertFalse(mapped.isOpen(2, 65));
+            assertTrue(mapped.isOpen(2, 64));
+            assertEquals(70 * 5 - 1, MazeStats.countOpen(mapped));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package hw2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingPathFinderTest {
+    private Maze maze;
+    private CachingPathFinder finder;
+
+    @BeforeEach
+    public void setup() {
+        maze = new SparseMaze(6, 5, true);
+        for (int row = 0; row < 4; row++) {
+            maze.setCell(row, 2, false);
+        }
+        finder = new CachingPathFinder(new BreadthFirstPathFinder(), 2);
+    }
+
+    @Test
+    public void testFindPathMatchesDelegate() {
+        int[] expected = new BreadthFirstPathFinder().findPath(maze, 0, 0, 0, 5);
+        assertArrayEquals(expected, finder.findPath(maze, 0, 0, 0, 5));
+        assertArrayEquals(expected, finder.findPath(maze, 0, 0, 0, 5));
+        assertEquals(1, finder.getMissCount());
+        assertEquals(1, finder.getHitCount());
+    }
+
+    @Test
+    public void testFindPathReturnsShortestPathAroundWall() {
+        int[] path = finder.findPath(maze, 0, 0, 0, 5);
+        assertEquals(14, path.length);
+        assertEquals(0, path[0]);
+        assertEquals(5, path[path.length - 1]);
+    }
+
+    @Test
+    public void testUnreachableGoalIsCached() {
+        maze.setCell(4, 2, false);
+        assertNull(finder.findPath(maze, 0, 0, 0, 5));
+        assertNull(finder.findPath(maze, 0, 0, 0, 5));
+        assertEquals(1, finder.getHitCount());
+    }
+
+    @Test
+    public void testMutationInvalidatesEntry() {
+        finder.findPath(maze, 0, 0, 0, 5);
+        maze.setCell(0, 2, true);
+        int[] path = finder.findPath(maze, 0, 0, 0, 5);
+        assertEquals(6, path.length);
+        assertEquals(0, finder.getHitCount());
+        assertEquals(1, finder.getInvalidationCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        finder.findPath(maze, 0, 0, 0, 1);
+        finder.findPath(maze, 0, 0, 1, 0);
+        finder.findPath(maze, 0, 0, 0, 1);
+        finder.findPath(maze, 0, 0, 1, 1);
+        assertEquals(1, finder.getEvictionCount());
+        assertEquals(2, finder.size());
+        finder.findPath(maze, 0, 0, 0, 1);
+        assertEquals(2, finder.getHitCount());
+    }
+
+    @Test
+    public void testReturnedPathIsACopy() {
+        finder.findPath(maze, 0, 0, 0, 1)[1] = 99;
+        assertArrayEquals(new int[] {0, 1}, finder.findPath(maze, 0, 0, 0, 1));
+    }
+
+    @Test
+    public void testFindPathThrowsCellIndexOutOfBoundsException() {
+        assertThrows(exceptions.CellIndexOutOfBoundsException.class,
+                () -> finder.findPath(maze, 0, 0, 5, 0));
+    }
+}
@@ -0,0 +1,76 @@
+package hw2;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HashSparseMazeTest extends MazeTest {
+
+    @Override
+    public Maze createMaze(int width, int height, boolean defaultValue) {
+        return new HashSparseMaze(width, height, defaultValue);
+    }
+
+    @Test
+    public void testStoredCellCountTracksNonDefaultCells() {
+        HashSparseMaze sparse = (HashSparseMaze) maze;
+        sparse.setCell(1, 1, false);
+        sparse.setCell(2, 2, false);
+        sparse.setCell(2, 2, false);
+        assertEquals(2, sparse.getStoredCellCount());
+        sparse.setCell(1, 1, true);
+        assertEquals(1, sparse.getStoredCellCount());
+        sparse.clear(false);
+        assertEquals(0, sparse.getStoredCellCount());
+    }
+
+    @Test
+    public void testTableGrowsAndShrinksWithStoredCells() {
+        HashSparseMaze sparse = new HashSparseMaze(100, 100, true);
+        for (int i = 0; i < 1000; i++) {
+            sparse.setCellUnchecked(i, false);
+        }
+        assertEquals(2048, sparse.getCapacity());
+        for (int i = 0; i < 990; i++) {
+            sparse.setCellUnchecked(i, true);
+        }
+        assertEquals(10, sparse.getStoredCellCount());
+        assertTrue(sparse.getCapacity() <= 64, "capacity was " + sparse.getCapacity());
+        for (int i = 990; i < 1000; i++) {
+            assertFalse(sparse.isOpenUnchecked(i));
+        }
+        assertTrue(sparse.isOpen(0, 0));
+    }
+
+    @Test
+    public void testRandomWritesMatchDenseMaze() {
+        int width = 37;
+        int height = 29;
+        HashSparseMaze sparse = new HashSparseMaze(width, height, false);
+        Maze expected = new Dense1DMaze(width, height, false);
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            int row = random.nextInt(height);
+            int col = random.nextInt(width);
+            boolean value = random.nextInt(3) == 0;
+            sparse.setCell(row, col, value);
+            expected.setCell(row, col, value);
+        }
+        int stored = 0;
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                assertEquals(expected.isOpen(row, col), sparse.isOpen(row, col));
+                if (expected.isOpen(row, col)) {
+                    stored++;
+                }
+            }
+        }
+        assertEquals(stored, sparse.getStoredCellCount());
+        var it = expected.iterator();
+        for (Boolean cell : sparse) {
+            assertEquals(it.next(), cell);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package hw2;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentedMazeTest extends MazeTest {
+
+    @Override
+    public Maze createMaze(int width, int height, boolean defaultValue) {
+        return new InstrumentedMaze(new SparseMaze(width, height, defaultValue));
+    }
+
+    @Test
+    public void testOperationsAreTimed() {
+        InstrumentedMaze instrumented = (InstrumentedMaze) maze;
+        maze.setCell(1, 1, false);
+        maze.isOpen(1, 1);
+        maze.isOpen(2, 2);
+        maze.clear(true);
+        MazeMetrics metrics = instrumented.getMetrics();
+        assertEquals(1, metrics.getSetCellNanos().getCount());
+        assertEquals(2, metrics.getIsOpenNanos().getCount());
+        assertEquals(1, metrics.getClearNanos().getCount());
+    }
+
+    @Test
+    public void testSparseNodeWalksAreCounted() {
+        InstrumentedMaze instrumented = (InstrumentedMaze) maze;
+        for (int col = 0; col < DEFAULT_WIDTH; col++) {
+            maze.setCell(0, col, false);
+        }
+        instrumented.getMetrics().reset();
+        maze.isOpen(DEFAULT_HEIGHT - 1, DEFAULT_WIDTH - 1);
+        Histogram nodes = instrumented.getMetrics().getNodesTraversed();
+        assertEquals(1, nodes.getCount());
+        assertEquals(DEFAULT_WIDTH, nodes.getMax());
+    }
+
+    @Test
+    public void testDisabledMazeRecordsNothing() {
+        InstrumentedMaze instrumented = (InstrumentedMaze) maze;
+        instrumented.setEnabled(false);
+        maze.setCell(1, 1, false);
+        maze.isOpen(1, 1);
+        for (Boolean cell : maze) {
+            assertNotNull(cell);
+        }
+        MazeMetrics metrics = instrumented.getMetrics();
+        assertEquals(0, metrics.getSetCellNanos().getCount());
+        assertEquals(0, metrics.getIsOpenNanos().getCount());
+        assertEquals(0, metrics.getNodesTraversed().getCount());
+        assertEquals(0, metrics.getIteratorCount());
+    }
+
+    @Test
+    public void testSnapshotReportsIterationAndStoredCells() {
+        maze.setCell(1, 1, false);
+        maze.setCell(2, 2, false);
+        for (Boolean cell : maze) {
+            assertNotNull(cell);
+        }
+        Map<String, Number> snapshot = ((InstrumentedMaze) maze).snapshot();
+        assertEquals(2L, snapshot.get("storedCells"));
+        assertEquals(1L, snapshot.get("iterator.count"));
+        assertEquals((long) DEFAULT_WIDTH * DEFAULT_HEIGHT, snapshot.get("iterator.cells"));
+    }
+
+    @Test
+    public void testCloseDetachesOnlyOwnMetrics() {
+        SparseMaze sparse = new SparseMaze(DEFAULT_WIDTH, DEFAULT_HEIGHT, true);
+        sparse.setCell(0, 0, false);
+        InstrumentedMaze first = new InstrumentedMaze(sparse);
+        InstrumentedMaze second = new InstrumentedMaze(sparse);
+        first.close();
+        second.isOpen(1, 1);
+        assertEquals(1, second.getMetrics().getNodesTraversed().getCount());
+        second.close();
+        sparse.isOpen(1, 1);
+        assertEquals(1, second.getMetrics().getNodesTraversed().getCount());
+        assertEquals(0, first.getMetrics().getNodesTraversed().getCount());
+        assertFalse(first.isEnabled());
+    }
+
+    @Test
+    public void testStoredCellCountPerBackend() {
+        QuadTreeMaze quadTree = new QuadTreeMaze(8, 8, true);
+        quadTree.setCell(0, 0, false);
+        assertEquals(quadTree.getNodeCount(), new InstrumentedMaze(quadTree).getStoredCellCount());
+        assertEquals(12L, new InstrumentedMaze(new Dense2DMaze(3, 4, true)).getStoredCellCount());
+        InstrumentedMaze view = new InstrumentedMaze(new Dense1DMaze(8, 8, true).view(0, 0, 2, 2));
+        assertEquals(-1, view.getStoredCellCount());
+        assertFalse(view.snapshot().containsKey("storedCells"));
+    }
+
+    @Test
+    public void testHistogramPercentilesStayWithinBucketError() {
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.5, histogram.getMean(), 1e-9);
+        assertEquals(1, histogram.getMin());
+        assertEquals(1000, histogram.getMax());
+        long p50 = histogram.getValueAtPercentile(50);
+        assertTrue(p50 >= 500 && p50 <= 500 * 17 / 16, "p50 was " + p50);
+        assertEquals(1000, histogram.getValueAtPercentile(100));
+    }
+}
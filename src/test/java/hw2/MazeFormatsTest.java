@@ -0,0 +1,107 @@
+package hw2;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MazeFormatsTest {
+
+    @Test
+    public void testReadAsciiParsesGrid() throws IOException {
+        Maze maze = MazeFormats.readAscii(channel("#..\r\n.#.\r\n"), SparseMaze::new);
+        assertEquals(3, maze.getWidth());
+        assertEquals(2, maze.getHeight());
+        assertFalse(maze.isOpen(0, 0));
+        assertTrue(maze.isOpen(0, 1));
+        assertFalse(maze.isOpen(1, 1));
+        assertTrue(maze.getDefaultValue());
+        assertEquals(2, ((SparseMaze) maze).getStoredCellCount());
+    }
+
+    @Test
+    public void testAsciiRoundTrip() throws IOException {
+        Maze maze = randomMaze(new HashSparseMaze(131, 7, false));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MazeFormats.writeAscii(maze, Channels.newChannel(bytes));
+        Maze read = MazeFormats.readAscii(channel(bytes.toByteArray()), Dense2DMaze::new);
+        assertTrue(MazeStats.equalsContent(maze, read));
+    }
+
+    @Test
+    public void testPbmRoundTripInBothForms() throws IOException {
+        for (int width : new int[] {1, 13, 64, 71}) {
+            Maze maze = randomMaze(new Dense1DMaze(width, 5));
+            for (boolean binary : new boolean[] {true, false}) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                MazeFormats.writePbm(maze, Channels.newChannel(bytes), binary);
+                Maze read = MazeFormats.readPbm(channel(bytes.toByteArray()), SparseMaze::new,
+                        true);
+                assertTrue(MazeStats.equalsContent(maze, read));
+            }
+        }
+    }
+
+    @Test
+    public void testReadPbmSkipsComments() throws IOException {
+        Maze maze = MazeFormats.readPbm(channel("P1\n# a comment\n3 2\n1 0 0\n0 0 1\n"),
+                QuadTreeMaze::new, true);
+        assertFalse(maze.isOpen(0, 0));
+        assertTrue(maze.isOpen(0, 1));
+        assertFalse(maze.isOpen(1, 2));
+    }
+
+    @Test
+    public void testWritePbmPlainHeader() throws IOException {
+        Maze maze = new SparseMaze(2, 1);
+        maze.setCell(0, 1, false);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MazeFormats.writePbm(maze, Channels.newChannel(bytes), false);
+        assertEquals("P1\n2 1\n01\n", bytes.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testReadAsciiThrowsMazeFormatExceptionForRaggedRows() {
+        assertThrows(exceptions.MazeFormatException.class,
+                () -> MazeFormats.readAscii(channel("...\n..\n"), SparseMaze::new));
+    }
+
+    @Test
+    public void testReadPbmThrowsMazeFormatExceptionForZeroDimension() {
+        assertThrows(exceptions.MazeFormatException.class,
+                () -> MazeFormats.readPbm(channel("P1\n0 2\n"), SparseMaze::new, true));
+        assertThrows(exceptions.MazeFormatException.class,
+                () -> MazeFormats.readPbm(channel("P4\n3 0\n"), SparseMaze::new, true));
+    }
+
+    @Test
+    public void testReadPbmThrowsMazeFormatExceptionForTruncatedRaster() {
+        assertThrows(exceptions.MazeFormatException.class,
+                () -> MazeFormats.readPbm(channel("P4\n9 2\n\0\0\0"), SparseMaze::new, true));
+    }
+
+    private static Maze randomMaze(Maze maze) {
+        Random random = new Random(11);
+        for (int row = 0; row < maze.getHeight(); row++) {
+            for (int col = 0; col < maze.getWidth(); col++) {
+                maze.setCell(row, col, random.nextBoolean());
+            }
+        }
+        return maze;
+    }
+
+    private static ReadableByteChannel channel(String text) {
+        return channel(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static ReadableByteChannel channel(byte[] bytes) {
+        return Channels.newChannel(new ByteArrayInputStream(bytes));
+    }
+}
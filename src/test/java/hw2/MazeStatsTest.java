@@ -0,0 +1,73 @@
+package hw2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MazeStatsTest {
+    private static final int WIDTH = 70;
+    private static final int HEIGHT = 5;
+    private Maze sparse;
+    private Maze dense;
+
+    @BeforeEach
+    public void setup() {
+        sparse = new SparseMaze(WIDTH, HEIGHT, true);
+        dense = new Dense1DMaze(WIDTH, HEIGHT, true);
+        int[][] walls = {{0, 0}, {1, 63}, {1, 64}, {2, 69}, {4, 10}};
+        for (int[] wall : walls) {
+            sparse.setCell(wall[0], wall[1], false);
+            dense.setCell(wall[0], wall[1], false);
+        }
+    }
+
+    @Test
+    public void testCountOpenCountsWholeMaze() {
+        assertEquals(WIDTH * HEIGHT - 5, MazeStats.countOpen(sparse));
+        assertEquals(WIDTH * HEIGHT - 5, MazeStats.countOpen(dense));
+    }
+
+    @Test
+    public void testCountOpenCountsRegion() {
+        assertEquals(2 * 4 - 2, MazeStats.countOpen(sparse, 1, 62, 2, 4));
+        QuadTreeMaze tree = new QuadTreeMaze(WIDTH, HEIGHT, true);
+        tree.setCell(1, 63, false);
+        assertEquals(2 * 4 - 1, MazeStats.countOpen(tree, 1, 62, 2, 4));
+    }
+
+    @Test
+    public void testCountOpenPerRow() {
+        assertArrayEquals(new int[] {WIDTH - 1, WIDTH - 2, WIDTH - 1, WIDTH, WIDTH - 1},
+                MazeStats.countOpenPerRow(dense));
+    }
+
+    @Test
+    public void testEqualsContentIgnoresBackendAndDefaultValue() {
+        assertTrue(MazeStats.equalsContent(sparse, dense));
+        Maze inverted = new HashSparseMaze(WIDTH, HEIGHT, false);
+        for (int row = 0; row < HEIGHT; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                inverted.setCell(row, col, dense.isOpen(row, col));
+            }
+        }
+        assertTrue(MazeStats.equalsContent(inverted, sparse));
+        dense.setCell(3, 3, false);
+        assertFalse(MazeStats.equalsContent(sparse, dense));
+    }
+
+    @Test
+    public void testDiffListsChangedCellsInOrder() {
+        dense.setCell(1, 64, true);
+        dense.setCell(3, 65, false);
+        dense.setCell(0, 2, false);
+        assertArrayEquals(new int[] {2, WIDTH + 64, 3 * WIDTH + 65}, MazeStats.diff(sparse, dense));
+        assertEquals(0, MazeStats.diff(sparse, sparse).length);
+    }
+
+    @Test
+    public void testDiffThrowsDimensionExceptionForDifferentSizes() {
+        assertThrows(exceptions.DimensionException.class,
+                () -> MazeStats.diff(sparse, new SparseMaze(WIDTH, HEIGHT + 1)));
+    }
+}
@@ -187,6 +187,27 @@ public abstract class MazeTest {
                 () -> maze.isOpen(0, DEFAULT_WIDTH));
     }
 
+    @Test
+    public void testCellIndexOutOfBoundsExceptionReportsValidRanges() {
+        var e = assertThrows(exceptions.CellIndexOutOfBoundsException.class,
+                () -> maze.isOpen(DEFAULT_HEIGHT, 0));
+        assertTrue(e.getMessage().contains("Valid rows: 0-" + (DEFAULT_HEIGHT - 1)
+                + ", cols: 0-" + (DEFAULT_WIDTH - 1)), e.getMessage());
+    }
+
+    @Test
+    public void testUncheckedAccessUsesLinearIndex() {
+        maze.setCell(2, 3, !DEFAULT_VALUE);
+        assertEquals(!DEFAULT_VALUE, maze.isOpenUnchecked(2 * DEFAULT_WIDTH + 3));
+        assertEquals(DEFAULT_VALUE, maze.isOpenUnchecked(2 * DEFAULT_WIDTH + 4));
+        maze.setCellUnchecked(DEFAULT_WIDTH * DEFAULT_HEIGHT - 1, !DEFAULT_VALUE);
+        assertEquals(!DEFAULT_VALUE, maze.isOpen(DEFAULT_HEIGHT - 1, DEFAULT_WIDTH - 1));
+        long before = maze.getVersion();
+        maze.setCellUnchecked(2 * DEFAULT_WIDTH + 3, DEFAULT_VALUE);
+        assertEquals(DEFAULT_VALUE, maze.isOpen(2, 3));
+        assertNotEquals(before, maze.getVersion());
+    }
+
     @Test
     public void testClearResetsMazeToDefaultState() {
         maze.setCell(1, 1, !DEFAULT_VALUE);
@@ -199,6 +220,88 @@ public abstract class MazeTest {
         }
     }
 
+    @Test
+    public void testSetCellChangesVersion() {
+        long before = maze.getVersion();
+        maze.setCell(2, 3, !DEFAULT_VALUE);
+        assertNotEquals(before, maze.getVersion());
+    }
+
+    @Test
+    public void testSetCellToSameValueKeepsVersion() {
+        maze.setCell(2, 3, !DEFAULT_VALUE);
+        long before = maze.getVersion();
+        maze.setCell(2, 3, !DEFAULT_VALUE);
+        maze.setCell(4, 4, DEFAULT_VALUE);
+        assertEquals(before, maze.getVersion());
+    }
+
+    @Test
+    public void testClearChangesVersion() {
+        long before = maze.getVersion();
+        maze.clear(DEFAULT_VALUE);
+        assertNotEquals(before, maze.getVersion());
+    }
+
+    @Test
+    public void testExportRowMatchesIsOpen() {
+        maze.setCell(2, 0, !DEFAULT_VALUE);
+        maze.setCell(2, 3, !DEFAULT_VALUE);
+        maze.setCell(2, DEFAULT_WIDTH - 1, !DEFAULT_VALUE);
+        maze.setCell(3, 3, !DEFAULT_VALUE);
+        long[] words = maze.exportRow(2, 0, DEFAULT_WIDTH, null);
+        for (int col = 0; col < DEFAULT_WIDTH; col++) {
+            assertEquals(maze.isOpen(2, col), (words[col >>> 6] & (1L << col)) != 0);
+        }
+        assertEquals(0, words[0] >>> DEFAULT_WIDTH);
+    }
+
+    @Test
+    public void testExportRowCopiesPartialRunIntoGivenArray() {
+        maze.setCell(1, 4, !DEFAULT_VALUE);
+        long[] dest = new long[] {-1L, -1L};
+        long[] words = maze.exportRow(1, 3, 4, dest);
+        assertSame(dest, words);
+        long expected = DEFAULT_VALUE ? 0b1101L : 0b0010L;
+        assertEquals(expected, words[0]);
+    }
+
+    @Test
+    public void testExportRowThrowsCellIndexOutOfBoundsExceptionForRunTooLong() {
+        assertThrows(exceptions.CellIndexOutOfBoundsException.class,
+                () -> maze.exportRow(0, 1, DEFAULT_WIDTH, null));
+    }
+
+    @Test
+    public void testImportRowRoundTripsExportedRow() {
+        long[] words = new long[] {0b1011001L};
+        maze.importRow(3, 2, 7, words);
+        for (int col = 0; col < 7; col++) {
+            assertEquals((words[0] & (1L << col)) != 0, maze.isOpen(3, 2 + col));
+        }
+        assertEquals(DEFAULT_VALUE, maze.isOpen(3, 1));
+        assertEquals(DEFAULT_VALUE, maze.isOpen(3, 9));
+        assertArrayEquals(words, maze.exportRow(3, 2, 7, null));
+    }
+
+    @Test
+    public void testImportRowOfSameValuesKeepsVersion() {
+        maze.setCell(1, 2, !DEFAULT_VALUE);
+        long[] words = maze.exportRow(1, 0, DEFAULT_WIDTH, null);
+        long before = maze.getVersion();
+        maze.importRow(1, 0, DEFAULT_WIDTH, words);
+        assertEquals(before, maze.getVersion());
+        words[0] ^= 1L << 5;
+        maze.importRow(1, 0, DEFAULT_WIDTH, words);
+        assertNotEquals(before, maze.getVersion());
+    }
+
+    @Test
+    public void testImportRowThrowsCellIndexOutOfBoundsExceptionForRowTooLarge() {
+        assertThrows(exceptions.CellIndexOutOfBoundsException.class,
+                () -> maze.importRow(DEFAULT_HEIGHT, 0, 1, new long[1]));
+    }
+
     @Test
     public void testIteratorRowMajorOrderAfterConstruction() {
         int count = 0;
@@ -0,0 +1,72 @@
+package hw2;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MazeViewTest extends MazeTest {
+    private static final int ROW_OFFSET = 2;
+    private static final int COL_OFFSET = 3;
+
+    @Override
+    public Maze createMaze(int width, int height, boolean defaultValue) {
+        Maze parent = new Dense1DMaze(Math.max(width, 1) + 5, Math.max(height, 1) + 4,
+                defaultValue);
+        return parent.view(ROW_OFFSET, COL_OFFSET, height, width);
+    }
+
+    @Test
+    public void testViewWritesThroughToParent() {
+        Maze parent = ((MazeView) maze).getParent();
+        maze.setCell(0, 0, false);
+        assertFalse(parent.isOpen(ROW_OFFSET, COL_OFFSET));
+        parent.setCell(ROW_OFFSET + 1, COL_OFFSET + 2, false);
+        assertFalse(maze.isOpen(1, 2));
+    }
+
+    @Test
+    public void testClearOnlyChangesWindow() {
+        Maze parent = ((MazeView) maze).getParent();
+        maze.clear(false);
+        assertTrue(parent.isOpen(ROW_OFFSET - 1, COL_OFFSET));
+        assertTrue(parent.isOpen(ROW_OFFSET, COL_OFFSET - 1));
+        assertFalse(parent.isOpen(ROW_OFFSET + DEFAULT_HEIGHT - 1, COL_OFFSET + DEFAULT_WIDTH - 1));
+        assertTrue(parent.isOpen(ROW_OFFSET + DEFAULT_HEIGHT, COL_OFFSET + DEFAULT_WIDTH));
+        assertTrue(parent.getDefaultValue());
+    }
+
+    @Test
+    public void testNestedViewReadsParentDirectly() {
+        Maze nested = maze.view(1, 1, 3, 3);
+        assertSame(((MazeView) maze).getParent(), ((MazeView) nested).getParent());
+        nested.setCell(2, 2, false);
+        assertFalse(maze.isOpen(3, 3));
+        assertThrows(exceptions.CellIndexOutOfBoundsException.class, () -> nested.isOpen(3, 0));
+    }
+
+    @Test
+    public void testViewOverEveryBackendMatchesParent() {
+        Maze[] parents = {new SparseMaze(12, 9), new HashSparseMaze(12, 9),
+            new QuadTreeMaze(12, 9), new Dense2DMaze(12, 9)};
+        for (Maze parent : parents) {
+            parent.setCell(4, 5, false);
+            parent.setCell(8, 11, false);
+            Maze view = parent.view(3, 4, 6, 8);
+            int count = 0;
+            for (Boolean cell : view) {
+                assertEquals(parent.isOpen(3 + count / 8, 4 + count % 8), cell);
+                count++;
+            }
+            assertEquals(48, count);
+        }
+    }
+
+    @Test
+    public void testViewThrowsCellIndexOutOfBoundsExceptionForWindowOutsideParent() {
+        Maze parent = new SparseMaze(10, 10);
+        assertThrows(exceptions.CellIndexOutOfBoundsException.class,
+                () -> parent.view(5, 5, 6, 2));
+        assertThrows(exceptions.CellIndexOutOfBoundsException.class,
+                () -> parent.view(-1, 0, 2, 2));
+    }
+}
@@ -0,0 +1,79 @@
+package hw2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Closed-loop load generator for {@link PathQueryService}.
+ * <p>
+ * Runs fixed-size batches of random queries against a few shared mazes for each worker count
+ * from 1 up to the number of available processors, and prints batch latency percentiles and
+ * queries per second. Run it directly with {@code main}; it is not part of the test suite.
+ * Optional arguments: maze side length, batch size, seconds per worker count.
+ */
+public class PathQueryServiceBenchmark {
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        Random random = new Random(1);
+        Maze[] mazes = {new SparseMaze(side, side), new HashSparseMaze(side, side),
+            new Dense1DMaze(side, side)};
+        for (Maze maze : mazes) {
+            for (int i = 0; i < side * side / 5; i++) {
+                maze.setCell(random.nextInt(side), random.nextInt(side), false);
+            }
+        }
+
+        System.out.printf("maze=%dx%d batch=%d%n", side, side, batchSize);
+        System.out.printf("%7s %12s %12s %12s%n", "workers", "p50 (us)", "p99 (us)", "queries/s");
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int workers = 1; workers <= processors; workers = nextWorkerCount(workers,
+                processors)) {
+            try (PathQueryService service = new PathQueryService(workers)) {
+                run(service, mazes, batchSize, random, 1); // warm up
+                Histogram latency = new Histogram();
+                long queries = run(service, mazes, batchSize, random, seconds, latency);
+                System.out.printf("%7d %12.1f %12.1f %12.0f%n", workers,
+                        latency.getValueAtPercentile(50) / 1e3,
+                        latency.getValueAtPercentile(99) / 1e3, queries / (double) seconds);
+            }
+        }
+    }
+
+    private static long run(PathQueryService service, Maze[] mazes, int batchSize,
+            Random random, int seconds) {
+        return run(service, mazes, batchSize, random, seconds, new Histogram());
+    }
+
+    // Submit batches back to back for the given time, recording the latency of each batch
+    private static long run(PathQueryService service, Maze[] mazes, int batchSize,
+            Random random, int seconds, Histogram latency) {
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        long queries = 0;
+        while (System.nanoTime() < end) {
+            List<PathQuery> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                Maze maze = mazes[random.nextInt(mazes.length)];
+                batch.add(new PathQuery(maze, random.nextInt(maze.getHeight()),
+                        random.nextInt(maze.getWidth()), random.nextInt(maze.getHeight()),
+                        random.nextInt(maze.getWidth())));
+            }
+            long start = System.nanoTime();
+            service.findPaths(batch);
+            latency.record(System.nanoTime() - start);
+            queries += batchSize;
+        }
+        return queries;
+    }
+
+    // Double the worker count, but always finish with exactly the processor count
+    private static int nextWorkerCount(int workers, int processors) {
+        if (workers == processors) {
+            return processors + 1;
+        }
+        return Math.min(workers * 2, processors);
+    }
+}
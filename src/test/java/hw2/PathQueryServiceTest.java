@@ -0,0 +1,74 @@
+package hw2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PathQueryServiceTest {
+    private PathQueryService service;
+
+    @BeforeEach
+    public void setup() {
+        service = new PathQueryService(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.close();
+    }
+
+    @Test
+    public void testFindPathsMatchesBreadthFirstPathFinder() {
+        Random random = new Random(7);
+        Maze[] mazes = {new SparseMaze(30, 20), new Dense1DMaze(70, 9)};
+        for (Maze maze : mazes) {
+            for (int i = 0; i < maze.getWidth() * maze.getHeight() / 4; i++) {
+                maze.setCell(random.nextInt(maze.getHeight()), random.nextInt(maze.getWidth()),
+                        false);
+            }
+        }
+        List<PathQuery> queries = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Maze maze = mazes[i % 2];
+            queries.add(new PathQuery(maze, random.nextInt(maze.getHeight()),
+                    random.nextInt(maze.getWidth()), random.nextInt(maze.getHeight()),
+                    random.nextInt(maze.getWidth())));
+        }
+        List<int[]> paths = service.findPaths(queries);
+        PathFinder expected = new BreadthFirstPathFinder();
+        for (int i = 0; i < queries.size(); i++) {
+            PathQuery query = queries.get(i);
+            assertArrayEquals(expected.findPath(query.getMaze(), query.getStartRow(),
+                    query.getStartCol(), query.getGoalRow(), query.getGoalCol()), paths.get(i));
+        }
+    }
+
+    @Test
+    public void testLaterBatchSeesMutation() {
+        Maze maze = new SparseMaze(5, 1);
+        List<PathQuery> queries = List.of(new PathQuery(maze, 0, 0, 0, 4));
+        assertEquals(5, service.findPaths(queries).get(0).length);
+        maze.setCell(0, 2, false);
+        assertNull(service.findPaths(queries).get(0));
+    }
+
+    @Test
+    public void testFindPathsThrowsCellIndexOutOfBoundsException() {
+        Maze maze = new SparseMaze(5, 5);
+        List<PathQuery> queries = List.of(new PathQuery(maze, 0, 0, 0, 4),
+                new PathQuery(maze, 0, 0, 5, 0));
+        assertThrows(exceptions.CellIndexOutOfBoundsException.class,
+                () -> service.findPaths(queries));
+    }
+
+    @Test
+    public void testEmptyBatchReturnsEmptyList() {
+        assertTrue(service.findPaths(new ArrayList<>()).isEmpty());
+    }
+}
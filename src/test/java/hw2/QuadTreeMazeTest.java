@@ -0,0 +1,111 @@
+package hw2;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuadTreeMazeTest extends MazeTest {
+
+    @Override
+    public Maze createMaze(int width, int height, boolean defaultValue) {
+        return new QuadTreeMaze(width, height, defaultValue);
+    }
+
+    @Test
+    public void testUniformQuadrantCollapsesToLeaf() {
+        QuadTreeMaze tree = new QuadTreeMaze(8, 8, true);
+        for (int row = 0; row < 4; row++) {
+            for (int col = 0; col < 4; col++) {
+                tree.setCell(row, col, false);
+            }
+        }
+        assertEquals(5, tree.getNodeCount());
+        for (int row = 0; row < 4; row++) {
+            for (int col = 0; col < 4; col++) {
+                tree.setCell(row, col, true);
+            }
+        }
+        assertEquals(1, tree.getNodeCount());
+    }
+
+    @Test
+    public void testUniformMazeCollapsesWithNonPowerOfTwoSize() {
+        QuadTreeMaze small = new QuadTreeMaze(3, 3, true);
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                small.setCell(row, col, false);
+            }
+        }
+        assertEquals(1, small.getNodeCount());
+        assertEquals(0, small.countOpen(0, 0, 3, 3));
+
+        QuadTreeMaze large = new QuadTreeMaze(1000, 1000, true);
+        large.setRegion(0, 0, 1000, 1000, false);
+        assertEquals(1, large.getNodeCount());
+        large.setRegion(0, 0, 500, 1000, true);
+        large.setRegion(500, 0, 500, 1000, true);
+        assertEquals(1, large.getNodeCount());
+        assertEquals(1_000_000, large.countOpen(0, 0, 1000, 1000));
+
+        QuadTreeMaze wide = new QuadTreeMaze(13, 5, false);
+        wide.setRegion(0, 8, 5, 5, true);
+        assertEquals(5, wide.getNodeCount());
+        assertEquals(25, wide.countOpen(0, 0, 5, 13));
+    }
+
+    @Test
+    public void testSetRegionMatchesCellByCellWrites() {
+        QuadTreeMaze tree = new QuadTreeMaze(13, 9, true);
+        Maze expected = new Dense2DMaze(13, 9, true);
+        tree.setRegion(2, 3, 5, 7, false);
+        for (int row = 2; row < 7; row++) {
+            for (int col = 3; col < 10; col++) {
+                expected.setCell(row, col, false);
+            }
+        }
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 13; col++) {
+                assertEquals(expected.isOpen(row, col), tree.isOpen(row, col));
+            }
+        }
+    }
+
+    @Test
+    public void testCountOpenCountsRegion() {
+        QuadTreeMaze tree = new QuadTreeMaze(DEFAULT_WIDTH, DEFAULT_HEIGHT, true);
+        tree.setRegion(1, 1, 3, 4, false);
+        assertEquals(DEFAULT_WIDTH * DEFAULT_HEIGHT - 12,
+                tree.countOpen(0, 0, DEFAULT_HEIGHT, DEFAULT_WIDTH));
+        assertEquals(3, tree.countOpen(0, 0, 2, 2));
+        assertEquals(0, tree.countOpen(1, 1, 3, 4));
+    }
+
+    @Test
+    public void testIteratorMatchesIsOpenAcrossLeafRuns() {
+        QuadTreeMaze tree = new QuadTreeMaze(11, 7, true);
+        tree.setRegion(0, 4, 4, 4, false);
+        tree.setCell(5, 10, false);
+        tree.setCell(6, 0, false);
+        int count = 0;
+        for (Boolean cell : tree) {
+            assertEquals(tree.isOpen(count / 11, count % 11), cell);
+            count++;
+        }
+        assertEquals(77, count);
+    }
+
+    @Test
+    public void testSetRegionToSameValueKeepsVersion() {
+        QuadTreeMaze tree = new QuadTreeMaze(DEFAULT_WIDTH, DEFAULT_HEIGHT, true);
+        long before = tree.getVersion();
+        tree.setRegion(0, 0, 4, 4, true);
+        assertEquals(before, tree.getVersion());
+    }
+
+    @Test
+    public void testCountOpenThrowsCellIndexOutOfBoundsExceptionForRegionTooLarge() {
+        QuadTreeMaze tree = new QuadTreeMaze(DEFAULT_WIDTH, DEFAULT_HEIGHT, true);
+        assertThrows(exceptions.CellIndexOutOfBoundsException.class,
+                () -> tree.countOpen(0, 0, DEFAULT_HEIGHT + 1, 1));
+    }
+}
@@ -12,4 +12,30 @@ public class SparseMazeTest extends MazeTest {
         return new SparseMaze(width, height, defaultValue);
     }
 
+
+    @Test
+    public void testExportRowAfterRemovingScannedNode() {
+        maze.setCell(1, 1, false);
+        maze.setCell(5, 5, false);
+        maze.exportRow(1, 0, DEFAULT_WIDTH, null);
+        maze.setCell(1, 1, true);
+        maze.exportRow(0, 0, DEFAULT_WIDTH, null);
+        long[] words = maze.exportRow(5, 0, DEFAULT_WIDTH, null);
+        assertEquals(((1L << DEFAULT_WIDTH) - 1) & ~(1L << 5), words[0]);
+        assertEquals(((1L << DEFAULT_WIDTH) - 1), maze.exportRow(1, 0, DEFAULT_WIDTH, null)[0]);
+    }
+
+    @Test
+    public void testExportRowAfterClearDuringScan() {
+        maze.setCell(1, 1, false);
+        maze.setCell(3, 2, false);
+        maze.exportRow(1, 0, DEFAULT_WIDTH, null);
+        maze.clear(false);
+        maze.setCell(2, 4, true);
+        assertEquals(0L, maze.exportRow(1, 0, DEFAULT_WIDTH, null)[0]);
+        assertEquals(1L << 4, maze.exportRow(2, 0, DEFAULT_WIDTH, null)[0]);
+        assertEquals(0L, maze.exportRow(3, 0, DEFAULT_WIDTH, null)[0]);
+        assertEquals(1, ((SparseMaze) maze).getStoredCellCount());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package hw2;
+
+import java.util.Random;
+
+/**
+ * Microbenchmark comparing checked and unchecked cell reads.
+ * <p>
+ * For each backend and for a view, scans every cell with {@link Maze#isOpen(int, int)} and
+ * with {@link Maze#isOpenUnchecked(int)}, times a corner-to-corner breadth-first search, and
+ * prints the best of several rounds in nanoseconds per cell and milliseconds per search.
+ * Run it directly with {@code main}; it is not part of the test suite. Optional argument: maze side length.
+ */
+public class UncheckedAccessBenchmark {
+    private static final int ROUNDS = 15;
+
+    private static int sink; // consumes results so the JIT cannot drop the loops
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        Maze[] mazes = {new Dense1DMaze(side, side), new Dense2DMaze(side, side),
+            new HashSparseMaze(side, side), new QuadTreeMaze(side, side),
+            new Dense1DMaze(side + 2, side + 2).view(1, 1, side, side)};
+        Random random = new Random(5);
+        for (Maze maze : mazes) {
+            for (int i = 0; i < side * side / 20; i++) {
+                maze.setCell(random.nextInt(side), random.nextInt(side), false);
+            }
+        }
+        PathFinder finder = new BreadthFirstPathFinder();
+
+        System.out.printf("maze=%dx%d%n", side, side);
+        System.out.printf("%-16s %14s %14s %10s%n", "backend", "checked ns", "unchecked ns",
+                "BFS ms");
+        for (Maze maze : mazes) {
+            double cells = (double) side * side;
+            long checked = Long.MAX_VALUE;
+            long unchecked = Long.MAX_VALUE;
+            long search = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                checked = Math.min(checked, scanChecked(maze));
+                unchecked = Math.min(unchecked, scanUnchecked(maze));
+                search = Math.min(search, search(finder, maze));
+            }
+            System.out.printf("%-16s %14.2f %14.2f %10.2f%n", maze.getClass().getSimpleName(),
+                    checked / cells, unchecked / cells, search / 1e6);
+        }
+        System.out.println("checksum " + sink);
+    }
+
+    private static long scanChecked(Maze maze) {
+        long start = System.nanoTime();
+        int open = 0;
+        for (int row = 0; row < maze.getHeight(); row++) {
+            for (int col = 0; col < maze.getWidth(); col++) {
+                if (maze.isOpen(row, col)) {
+                    open++;
+                }
+            }
+        }
+        sink += open;
+        return System.nanoTime() - start;
+    }
+
+    private static long scanUnchecked(Maze maze) {
+        long start = System.nanoTime();
+        int open = 0;
+        int cells = maze.getWidth() * maze.getHeight();
+        for (int i = 0; i < cells; i++) {
+            if (maze.isOpenUnchecked(i)) {
+                open++;
+            }
+        }
+        sink += open;
+        return System.nanoTime() - start;
+    }
+
+    private static long search(PathFinder finder, Maze maze) {
+        int side = maze.getWidth();
+        long start = System.nanoTime();
+        int[] path = finder.findPath(maze, 0, 0, side - 1, side - 1);
+        sink += path == null ? 0 : path.length;
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,171 @@
+package hw2;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VisibilityTest {
+
+    @Test
+    public void testOpenMazeHasLineOfSightEverywhere() {
+        Visibility visibility = new Visibility(new SparseMaze(10, 8));
+        assertTrue(visibility.hasLineOfSight(0, 0, 7, 9));
+        assertTrue(visibility.hasLineOfSight(7, 9, 0, 0));
+        assertTrue(visibility.hasLineOfSight(3, 3, 3, 3));
+    }
+
+    @Test
+    public void testWallBlocksLongHorizontalLine() {
+        Maze maze = new Dense1DMaze(200, 3);
+        Visibility visibility = new Visibility(maze);
+        assertTrue(visibility.hasLineOfSight(1, 0, 1, 199));
+        maze.setCell(1, 130, false);
+        assertFalse(visibility.hasLineOfSight(1, 0, 1, 199));
+        assertTrue(visibility.hasLineOfSight(1, 0, 1, 130));
+    }
+
+    @Test
+    public void testLineOfSightMatchesCellByCellBresenham() {
+        Random random = new Random(3);
+        Maze maze = new HashSparseMaze(90, 40);
+        for (int i = 0; i < 300; i++) {
+            maze.setCell(random.nextInt(40), random.nextInt(90), false);
+        }
+        Visibility visibility = new Visibility(maze);
+        int[] rays = new int[4 * 500];
+        for (int i = 0; i < rays.length; i += 4) {
+            rays[i] = random.nextInt(40);
+            rays[i + 1] = random.nextInt(90);
+            rays[i + 2] = random.nextInt(40);
+            rays[i + 3] = random.nextInt(90);
+        }
+        boolean[] batch = visibility.hasLineOfSight(rays);
+        for (int i = 0; i < batch.length; i++) {
+            int r0 = rays[4 * i];
+            int c0 = rays[4 * i + 1];
+            int r1 = rays[4 * i + 2];
+            int c1 = rays[4 * i + 3];
+            boolean expected = referenceLineOfSight(maze, r0, c0, r1, c1);
+            assertEquals(expected, batch[i]);
+            assertEquals(expected, visibility.hasLineOfSight(r1, c1, r0, c0));
+        }
+    }
+
+    @Test
+    public void testFieldOfViewStopsAtWalls() {
+        Maze maze = new SparseMaze(9, 9);
+        for (int row = 0; row < 9; row++) {
+            maze.setCell(row, 6, false);
+        }
+        Visibility visibility = new Visibility(maze);
+        long[] field = visibility.fieldOfView(4, 4, 10);
+        assertTrue(visibility.isVisible(field, 4, 4));
+        assertTrue(visibility.isVisible(field, 0, 0));
+        assertTrue(visibility.isVisible(field, 4, 6));
+        assertFalse(visibility.isVisible(field, 4, 7));
+        assertFalse(visibility.isVisible(field, 0, 8));
+    }
+
+    @Test
+    public void testFieldOfViewRespectsRadius() {
+        Visibility visibility = new Visibility(new SparseMaze(20, 20));
+        long[] field = visibility.fieldOfView(10, 10, 3);
+        assertTrue(visibility.isVisible(field, 10, 13));
+        assertFalse(visibility.isVisible(field, 10, 14));
+        assertFalse(visibility.isVisible(field, 13, 13));
+    }
+
+    @Test
+    public void testFieldOfViewWithRadiusBeyondMaze() {
+        Visibility visibility = new Visibility(new SparseMaze(20, 20));
+        long[] small = visibility.fieldOfView(10, 10, 30);
+        for (int radius : new int[] {46341, Integer.MAX_VALUE}) {
+            assertArrayEquals(small, visibility.fieldOfView(10, 10, radius));
+        }
+        for (int row = 0; row < 20; row++) {
+            for (int col = 0; col < 20; col++) {
+                assertTrue(visibility.isVisible(small, row, col));
+            }
+        }
+    }
+
+    @Test
+    public void testFieldOfViewAlongNarrowCorridor() {
+        Maze maze = new Dense1DMaze(2, 20000);
+        Visibility visibility = new Visibility(maze);
+        long[] field = visibility.fieldOfView(0, 0, 20000);
+        assertTrue(visibility.isVisible(field, 19999, 0));
+        assertTrue(visibility.isVisible(field, 19999, 1));
+        maze.setCell(100, 0, false);
+        maze.setCell(100, 1, false);
+        field = visibility.fieldOfView(0, 0, 20000);
+        assertTrue(visibility.isVisible(field, 100, 1));
+        assertFalse(visibility.isVisible(field, 101, 0));
+        assertFalse(visibility.isVisible(field, 19999, 1));
+    }
+
+    @Test
+    public void testChangedMazeRecopiesOnlyRowsQueried() {
+        InstrumentedMaze maze = new InstrumentedMaze(new Dense1DMaze(50, 100));
+        Visibility visibility = new Visibility(maze);
+        Histogram exports = maze.getMetrics().getExportRowNanos();
+        assertEquals(100, exports.getCount());
+        maze.setCell(3, 2, false);
+        assertFalse(visibility.hasLineOfSight(3, 0, 3, 4));
+        assertEquals(101, exports.getCount());
+        assertTrue(visibility.hasLineOfSight(0, 0, 2, 40));
+        assertEquals(104, exports.getCount());
+        visibility.fieldOfView(10, 10, 2);
+        assertEquals(109, exports.getCount());
+        assertFalse(visibility.hasLineOfSight(0, 2, 5, 2));
+        assertEquals(111, exports.getCount());
+        maze.setCell(3, 2, true);
+        assertTrue(visibility.hasLineOfSight(0, 2, 5, 2));
+        assertEquals(117, exports.getCount());
+    }
+
+    @Test
+    public void testHasLineOfSightThrowsCellIndexOutOfBoundsException() {
+        Visibility visibility = new Visibility(new SparseMaze(5, 5));
+        assertThrows(exceptions.CellIndexOutOfBoundsException.class,
+                () -> visibility.hasLineOfSight(0, 0, 5, 0));
+    }
+
+    // Plain Bresenham over isOpen, traced from the endpoint that comes first in row-major order
+    private static boolean referenceLineOfSight(Maze maze, int r0, int c0, int r1, int c1) {
+        if (r0 > r1 || (r0 == r1 && c0 > c1)) {
+            return referenceLineOfSight(maze, r1, c1, r0, c0);
+        }
+        int dr = r1 - r0;
+        int dc = Math.abs(c1 - c0);
+        int step = c1 > c0 ? 1 : -1;
+        boolean shallow = dc >= dr;
+        int major = shallow ? dc : dr;
+        int minor = shallow ? dr : dc;
+        int error = 2 * minor - major;
+        int row = r0;
+        int col = c0;
+        for (int i = 0; i < major; i++) {
+            if (i > 0 && !maze.isOpen(row, col)) {
+                return false;
+            }
+            if (error > 0) {
+                if (shallow) {
+                    row++;
+                } else {
+                    col += step;
+                }
+                error -= 2 * major;
+            }
+            error += 2 * minor;
+            if (shallow) {
+                col += step;
+            } else {
+                row++;
+            }
+        }
+        return true;
+    }
+}